@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.cache;
+
+import com.lcl.swiftlink.common.enums.ShortLinkStatsLevelEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 短链接跳转缓存值
+ * 完整统计的短链接直接缓存原始链接，其它统计级别在原始链接前增加控制字符及级别，兼容已有缓存及跳转服务
+ */
+@Getter
+@AllArgsConstructor
+public class ShortLinkGotoCacheValue {
+
+    private static final char STATS_LEVEL_MARK = '\u0001';
+
+    /**
+     * 原始链接
+     */
+    private final String originUrl;
+
+    /**
+     * 统计级别
+     */
+    private final ShortLinkStatsLevelEnum statsLevel;
+
+    /**
+     * 编码跳转缓存值
+     *
+     * @param originUrl  原始链接
+     * @param statsLevel 统计级别，为空时按完整统计处理
+     */
+    public static String encode(String originUrl, Integer statsLevel) {
+        ShortLinkStatsLevelEnum actualStatsLevel = ShortLinkStatsLevelEnum.of(statsLevel);
+        if (actualStatsLevel == ShortLinkStatsLevelEnum.FULL) {
+            return originUrl;
+        }
+        return STATS_LEVEL_MARK + String.valueOf(actualStatsLevel.getLevel()) + originUrl;
+    }
+
+    /**
+     * 解析跳转缓存值
+     *
+     * @param cacheValue 跳转缓存值
+     * @return 跳转缓存值，入参为空时返回 null
+     */
+    public static ShortLinkGotoCacheValue decode(String cacheValue) {
+        if (cacheValue == null) {
+            return null;
+        }
+        if (cacheValue.length() < 2 || cacheValue.charAt(0) != STATS_LEVEL_MARK) {
+            return new ShortLinkGotoCacheValue(cacheValue, ShortLinkStatsLevelEnum.FULL);
+        }
+        ShortLinkStatsLevelEnum statsLevel = ShortLinkStatsLevelEnum.of(Character.digit(cacheValue.charAt(1), 10));
+        return new ShortLinkGotoCacheValue(cacheValue.substring(2), statsLevel);
+    }
+}
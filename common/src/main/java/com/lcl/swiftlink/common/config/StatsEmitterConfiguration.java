@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.config;
+
+import com.lcl.swiftlink.common.enums.StatsEmitterOverflowPolicyEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计消息异步发送配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.emitter")
+public class StatsEmitterConfiguration {
+
+    /**
+     * 是否开启异步批量发送，关闭时请求线程同步写入消息队列
+     */
+    private Boolean enable;
+
+    /**
+     * 环形缓冲区容量，向上取整为 2 的幂
+     */
+    private Integer bufferSize;
+
+    /**
+     * 单次批量写入的最大消息数量
+     */
+    private Integer flushSize;
+
+    /**
+     * 消息在缓冲区中的最长停留时间，单位：毫秒
+     */
+    private Long flushInterval;
+
+    /**
+     * 批量写入失败后的重试次数，重试耗尽后逐条写入
+     */
+    private Integer flushRetries;
+
+    /**
+     * 批量写入重试的初始退避间隔，每次重试翻倍，单位：毫秒
+     */
+    private Long flushRetryBackoff;
+
+    /**
+     * 缓冲区已满时的处理策略
+     */
+    private StatsEmitterOverflowPolicyEnum overflowPolicy;
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.config;
+
+import com.lcl.swiftlink.common.stats.IpRegionDatabaseBuilder;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计本地 IP 地址库配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.locale.ip-region")
+public class StatsIpRegionConfiguration {
+
+    /**
+     * 是否开启本地 IP 地址库，关闭或地址库加载失败时地区统计记为未知
+     */
+    private Boolean enable;
+
+    /**
+     * IP 地址库文件路径，相对路径基于服务工作目录，由 IpRegionDatabaseBuilder 从 CSV 区间数据生成，生成方式见其类注释
+     */
+    private String path;
+
+    /**
+     * 检查地址库文件变更并热加载的间隔，单位：毫秒
+     */
+    private Long reloadInterval;
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计消息生产者预聚合配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.pre-aggregation")
+public class StatsPreAggregationConfiguration {
+
+    /**
+     * 是否开启预聚合，开启后相同维度的访问在窗口内合并为一条带计数的统计消息
+     */
+    private Boolean enable;
+
+    /**
+     * 预聚合窗口长度，单位：毫秒
+     */
+    private Long window;
+
+    /**
+     * 是否仍逐条发送访问日志消息，关闭后预聚合模式下不再记录访问日志
+     */
+    private Boolean accessLog;
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计自适应采样配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.sampling")
+public class StatsSamplingConfiguration {
+
+    /**
+     * 是否开启自适应采样
+     */
+    private Boolean enable;
+
+    /**
+     * 检查消息队列积压及刷新单链接采样率的间隔，单位：毫秒
+     */
+    private Long checkInterval;
+
+    /**
+     * 消息队列积压超过该数量后开始采样，采样率为阈值与积压数量之比
+     */
+    private Long lagThreshold;
+
+    /**
+     * 自适应采样率下限
+     */
+    private Double minRate;
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.constant;
+
+/**
+ * Redis Key 常量类，短链接服务与跳转服务共用
+ */
+public class RedisKeyConstant {
+
+    /**
+     * 短链接跳转前缀 Key
+     * 同一短链接的跳转缓存、空值缓存与软过期时间使用短链接作为哈希标签，Redis 集群下位于同一槽位，可在一段脚本中同时访问
+     */
+    public static final String GOTO_SHORT_LINK_KEY = "short-link:goto:{%s}";
+
+    /**
+     * 短链接空值跳转前缀 Key
+     */
+    public static final String GOTO_IS_NULL_SHORT_LINK_KEY = "short-link:is-null:goto_{%s}";
+
+    /**
+     * 短链接跳转缓存软过期时间前缀 Key
+     */
+    public static final String GOTO_SHORT_LINK_SOFT_EXPIRE_KEY = "short-link:goto-soft-expire:{%s}";
+
+    /**
+     * 短链接跳转布隆过滤器名称，由短链接服务初始化，跳转服务只读
+     */
+    public static final String GOTO_SHORT_LINK_BLOOM_FILTER_NAME = "shortUriCreateCachePenetrationBloomFilter";
+
+    /**
+     * 短链接统计判断是否新用户缓存标识
+     */
+    public static final String SHORT_LINK_STATS_UV_KEY = "short-link:stats:uv:";
+
+    /**
+     * 短链接统计判断是否新 IP 缓存标识
+     */
+    public static final String SHORT_LINK_STATS_UIP_KEY = "short-link:stats:uip:";
+
+    /**
+     * 短链接统计访客 HyperLogLog 去重标识
+     */
+    public static final String SHORT_LINK_STATS_UV_HLL_KEY = "short-link:stats:uv-hll:";
+
+    /**
+     * 短链接统计 IP HyperLogLog 去重标识
+     */
+    public static final String SHORT_LINK_STATS_UIP_HLL_KEY = "short-link:stats:uip-hll:";
+
+    /**
+     * 短链接统计判断是否今日新用户缓存标识，参数依次为日期、完整短链接
+     */
+    public static final String SHORT_LINK_STATS_TODAY_UV_KEY = "short-link:stats:today-uv:%s:%s";
+
+    /**
+     * 短链接统计判断是否今日新 IP 缓存标识，参数依次为日期、完整短链接
+     */
+    public static final String SHORT_LINK_STATS_TODAY_UIP_KEY = "short-link:stats:today-uip:%s:%s";
+
+    /**
+     * 短链接统计单链接采样率缓存标识
+     */
+    public static final String SHORT_LINK_STATS_SAMPLING_RATE_KEY = "short-link:stats:sampling-rate";
+
+    /**
+     * 短链接监控消息保存队列 Topic 缓存标识
+     */
+    public static final String SHORT_LINK_STATS_STREAM_TOPIC_KEY = "short-link:stats-stream";
+
+    /**
+     * 短链接监控消息保存队列分区 Topic 缓存标识，分区号作为 Hash Tag 使各分区分散到不同的集群槽位
+     */
+    public static final String SHORT_LINK_STATS_STREAM_PARTITION_TOPIC_KEY = "short-link:stats-stream:{%d}";
+}
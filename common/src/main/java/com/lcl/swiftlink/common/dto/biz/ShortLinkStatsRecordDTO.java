@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.dto.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 短链接统计实体
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkStatsRecordDTO {
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 访问用户IP
+     */
+    private String remoteAddr;
+
+    /**
+     * 操作系统
+     */
+    private String os;
+
+    /**
+     * 浏览器
+     */
+    private String browser;
+
+    /**
+     * 操作设备
+     */
+    private String device;
+
+    /**
+     * 网络
+     */
+    private String network;
+
+    /**
+     * UV
+     */
+    private String uv;
+
+    /**
+     * UV访问标识
+     */
+    private Boolean uvFirstFlag;
+
+    /**
+     * UIP访问标识
+     */
+    private Boolean uipFirstFlag;
+
+    /**
+     * 今日UV访问标识
+     */
+    private Boolean todayUvFirstFlag;
+
+    /**
+     * 今日UIP访问标识
+     */
+    private Boolean todayUipFirstFlag;
+
+    /**
+     * 国家，预聚合时由生产者解析，为空时由消费者根据访问用户IP解析
+     */
+    private String country;
+
+    /**
+     * 省份
+     */
+    private String province;
+
+    /**
+     * 城市
+     */
+    private String city;
+
+    /**
+     * 城市编码
+     */
+    private String adcode;
+
+    /**
+     * 预聚合后的访问次数，为空表示单次访问，为 0 表示仅记录访问日志
+     */
+    private Integer pv;
+
+    /**
+     * 预聚合后的新访客数量，为空时按UV访问标识计算
+     */
+    private Integer uvCnt;
+
+    /**
+     * 预聚合后的新 IP 数量，为空时按UIP访问标识计算
+     */
+    private Integer uipCnt;
+
+    /**
+     * 预聚合后的今日新访客数量，为空时按今日UV访问标识计算
+     */
+    private Integer todayUvCnt;
+
+    /**
+     * 预聚合后的今日新 IP 数量，为空时按今日UIP访问标识计算
+     */
+    private Integer todayUipCnt;
+
+    /**
+     * 是否记录访问日志，为空表示记录
+     */
+    private Boolean accessLogFlag;
+
+    /**
+     * 统计级别，为空表示完整统计
+     */
+    private Integer statsLevel;
+
+    /**
+     * 消息队列唯一标识
+     */
+    private String keys;
+
+    /**
+     * 当前时间
+     */
+    private Date currentDate;
+}
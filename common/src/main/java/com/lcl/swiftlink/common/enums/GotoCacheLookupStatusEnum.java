@@ -15,29 +15,41 @@
  * limitations under the License.
  */
 
-package com.lcl.swiftlink.project.mq.producer;
+package com.lcl.swiftlink.common.enums;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.stereotype.Component;
 
-import java.util.Map;
-
-import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
+import java.util.Arrays;
 
 /**
- * 短链接监控状态保存消息队列生产者
+ * 短链接跳转缓存查询结果状态
  */
-@Component
 @RequiredArgsConstructor
-public class ShortLinkStatsSaveProducer {
+public enum GotoCacheLookupStatusEnum {
+
+    /**
+     * 命中跳转缓存
+     */
+    HIT(1),
 
-    private final StringRedisTemplate stringRedisTemplate;
+    /**
+     * 布隆过滤器或空值缓存判断短链接不存在
+     */
+    NOT_FOUND(2),
 
     /**
-     * 发送延迟消费短链接统计
+     * 缓存未命中，需要回源重建
      */
-    public void send(Map<String, String> producerMap) {
-        stringRedisTemplate.opsForStream().add(SHORT_LINK_STATS_STREAM_TOPIC_KEY, producerMap);
+    REBUILD(3);
+
+    @Getter
+    private final int status;
+
+    public static GotoCacheLookupStatusEnum of(long status) {
+        return Arrays.stream(values())
+                .filter(each -> each.status == status)
+                .findFirst()
+                .orElse(REBUILD);
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * 短链接统计级别
+ * 级别越低写入的统计表越少，未设置时按完整统计处理
+ */
+@RequiredArgsConstructor
+public enum ShortLinkStatsLevelEnum {
+
+    /**
+     * 完整统计：计数、维度聚合及访问日志
+     */
+    FULL(0),
+
+    /**
+     * 维度聚合：计数及小时、地区、操作系统、浏览器、设备、网络聚合，不记录访问日志
+     */
+    DIMENSION(1),
+
+    /**
+     * 仅计数：短链接历史及今日 PV、UV、UIP
+     */
+    COUNTER(2),
+
+    /**
+     * 关闭统计
+     */
+    OFF(3);
+
+    @Getter
+    private final int level;
+
+    public static ShortLinkStatsLevelEnum of(Integer level) {
+        if (level == null) {
+            return FULL;
+        }
+        return Arrays.stream(values())
+                .filter(each -> each.level == level)
+                .findFirst()
+                .orElse(FULL);
+    }
+
+    /**
+     * 是否记录维度聚合统计
+     */
+    public boolean isDimensionEnabled() {
+        return this == FULL || this == DIMENSION;
+    }
+
+    /**
+     * 是否记录访问日志
+     */
+    public boolean isAccessLogEnabled() {
+        return this == FULL;
+    }
+}
@@ -15,14 +15,20 @@
  * limitations under the License.
  */
 
-package com.lcl.swiftlink.project.dao.mapper;
-
-import com.baomidou.mybatisplus.core.mapper.BaseMapper;
-import com.lcl.swiftlink.project.dao.entity.ShortLinkGotoDO;
-import com.lcl.swiftlink.project.dao.entity.SwiftLinkJumpDO;
+package com.lcl.swiftlink.common.enums;
 
 /**
- * 短链接跳转持久层
+ * 短链接统计异步发送缓冲区已满时的处理策略
  */
-public interface SwiftLinkJumpMapper extends BaseMapper<SwiftLinkJumpDO> {
+public enum StatsEmitterOverflowPolicyEnum {
+
+    /**
+     * 丢弃当前统计消息，跳转请求不受影响
+     */
+    DISCARD,
+
+    /**
+     * 由请求线程同步写入消息队列，不丢统计但跳转耗时包含一次 Redis 写入
+     */
+    CALLER_RUNS
 }
@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.mq.codec;
+
+import com.alibaba.fastjson2.JSON;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.stats.IpRegionDatabase;
+import com.lcl.swiftlink.common.toolkit.VisitorIdUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 短链接统计消息编解码器
+ * 消息通过 version 字段协商编码：无该字段为 fastjson2 文本，版本 1、2、3 为紧凑二进制（Base64 存入 Stream），版本 2 增加定长访客标识类型，版本 3 增加统计级别
+ * 紧凑编码中操作系统、浏览器、设备、网络使用字典码，时间为毫秒时间戳，访客标识按 128 位、IP 按字节存储，字典只允许追加
+ */
+public final class ShortLinkStatsRecordCodec {
+
+    /**
+     * 消息编码版本字段
+     */
+    public static final String VERSION_FIELD = "version";
+
+    /**
+     * 紧凑编码消息体字段
+     */
+    public static final String PAYLOAD_FIELD = "payload";
+
+    /**
+     * 文本编码消息体字段
+     */
+    public static final String JSON_FIELD = "statsRecord";
+
+    /**
+     * 紧凑二进制编码版本
+     */
+    public static final String COMPACT_VERSION = "3";
+
+    /**
+     * 仍可解码的紧凑二进制编码旧版本
+     */
+    private static final String COMPACT_VERSION_V1 = "1";
+
+    private static final String COMPACT_VERSION_V2 = "2";
+
+    private static final List<String> OS_DICTIONARY = List.of("Unknown", "Windows", "Mac OS", "Linux", "Android", "iOS");
+
+    private static final List<String> BROWSER_DICTIONARY = List.of("Unknown", "Microsoft Edge", "Google Chrome", "Mozilla Firefox", "Apple Safari", "Opera", "Internet Explorer");
+
+    private static final List<String> DEVICE_DICTIONARY = List.of("PC", "Mobile");
+
+    private static final List<String> NETWORK_DICTIONARY = List.of("WIFI", "Mobile");
+
+    private static final int NULL_CODE = 0xFF;
+
+    private static final int LITERAL_CODE = 0xFE;
+
+    private static final int UUID_VISITOR = 1;
+
+    private static final int COMPACT_VISITOR = 2;
+
+    private ShortLinkStatsRecordCodec() {
+    }
+
+    /**
+     * 编码为 Stream 消息
+     *
+     * @param statsRecord 短链接统计实体
+     * @param compact     是否使用紧凑二进制编码
+     */
+    public static Map<String, String> encode(ShortLinkStatsRecordDTO statsRecord, boolean compact) {
+        Map<String, String> message = new HashMap<>(4);
+        if (!compact) {
+            message.put(JSON_FIELD, JSON.toJSONString(statsRecord));
+            return message;
+        }
+        message.put(VERSION_FIELD, COMPACT_VERSION);
+        message.put(PAYLOAD_FIELD, Base64.getEncoder().encodeToString(encodeCompact(statsRecord)));
+        return message;
+    }
+
+    /**
+     * 按版本字段解码 Stream 消息
+     */
+    public static ShortLinkStatsRecordDTO decode(Map<String, String> message) {
+        String version = message.get(VERSION_FIELD);
+        if (version == null) {
+            return JSON.parseObject(message.get(JSON_FIELD), ShortLinkStatsRecordDTO.class);
+        }
+        if (Objects.equals(version, COMPACT_VERSION)) {
+            return decodeCompact(Base64.getDecoder().decode(message.get(PAYLOAD_FIELD)), true);
+        }
+        if (Objects.equals(version, COMPACT_VERSION_V1) || Objects.equals(version, COMPACT_VERSION_V2)) {
+            return decodeCompact(Base64.getDecoder().decode(message.get(PAYLOAD_FIELD)), false);
+        }
+        throw new IllegalArgumentException("不支持的短链接统计消息版本：" + version);
+    }
+
+    private static byte[] encodeCompact(ShortLinkStatsRecordDTO statsRecord) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        try (DataOutputStream output = new DataOutputStream(buffer)) {
+            writeString(output, statsRecord.getFullShortUrl());
+            output.writeLong(statsRecord.getCurrentDate() == null ? -1L : statsRecord.getCurrentDate().getTime());
+            writeDictionary(output, OS_DICTIONARY, statsRecord.getOs());
+            writeDictionary(output, BROWSER_DICTIONARY, statsRecord.getBrowser());
+            writeDictionary(output, DEVICE_DICTIONARY, statsRecord.getDevice());
+            writeDictionary(output, NETWORK_DICTIONARY, statsRecord.getNetwork());
+            writeVisitor(output, statsRecord.getUv());
+            writeIp(output, statsRecord.getRemoteAddr());
+            output.writeShort(flag(statsRecord.getUvFirstFlag())
+                    | flag(statsRecord.getUipFirstFlag()) << 2
+                    | flag(statsRecord.getTodayUvFirstFlag()) << 4
+                    | flag(statsRecord.getTodayUipFirstFlag()) << 6
+                    | flag(statsRecord.getAccessLogFlag()) << 8);
+            writeString(output, statsRecord.getCountry());
+            writeString(output, statsRecord.getProvince());
+            writeString(output, statsRecord.getCity());
+            writeString(output, statsRecord.getAdcode());
+            writeInteger(output, statsRecord.getPv());
+            writeInteger(output, statsRecord.getUvCnt());
+            writeInteger(output, statsRecord.getUipCnt());
+            writeInteger(output, statsRecord.getTodayUvCnt());
+            writeInteger(output, statsRecord.getTodayUipCnt());
+            writeString(output, statsRecord.getKeys());
+            writeInteger(output, statsRecord.getStatsLevel());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static ShortLinkStatsRecordDTO decodeCompact(byte[] payload, boolean withStatsLevel) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            ShortLinkStatsRecordDTO statsRecord = new ShortLinkStatsRecordDTO();
+            statsRecord.setFullShortUrl(readString(input));
+            long currentTime = input.readLong();
+            statsRecord.setCurrentDate(currentTime < 0 ? null : new Date(currentTime));
+            statsRecord.setOs(readDictionary(input, OS_DICTIONARY));
+            statsRecord.setBrowser(readDictionary(input, BROWSER_DICTIONARY));
+            statsRecord.setDevice(readDictionary(input, DEVICE_DICTIONARY));
+            statsRecord.setNetwork(readDictionary(input, NETWORK_DICTIONARY));
+            statsRecord.setUv(readVisitor(input));
+            statsRecord.setRemoteAddr(readIp(input));
+            int flags = input.readUnsignedShort();
+            statsRecord.setUvFirstFlag(flag(flags));
+            statsRecord.setUipFirstFlag(flag(flags >> 2));
+            statsRecord.setTodayUvFirstFlag(flag(flags >> 4));
+            statsRecord.setTodayUipFirstFlag(flag(flags >> 6));
+            statsRecord.setAccessLogFlag(flag(flags >> 8));
+            statsRecord.setCountry(readString(input));
+            statsRecord.setProvince(readString(input));
+            statsRecord.setCity(readString(input));
+            statsRecord.setAdcode(readString(input));
+            statsRecord.setPv(readInteger(input));
+            statsRecord.setUvCnt(readInteger(input));
+            statsRecord.setUipCnt(readInteger(input));
+            statsRecord.setTodayUvCnt(readInteger(input));
+            statsRecord.setTodayUipCnt(readInteger(input));
+            statsRecord.setKeys(readString(input));
+            if (withStatsLevel) {
+                statsRecord.setStatsLevel(readInteger(input));
+            }
+            return statsRecord;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream output, List<String> dictionary, String value) throws IOException {
+        int code = value == null ? NULL_CODE : dictionary.indexOf(value);
+        if (code >= 0) {
+            output.writeByte(code);
+            return;
+        }
+        output.writeByte(LITERAL_CODE);
+        output.writeUTF(value);
+    }
+
+    private static String readDictionary(DataInputStream input, List<String> dictionary) throws IOException {
+        int code = input.readUnsignedByte();
+        if (code == NULL_CODE) {
+            return null;
+        }
+        return code == LITERAL_CODE ? input.readUTF() : dictionary.get(code);
+    }
+
+    /**
+     * 定长访客标识及历史 UUID 格式访客标识按 128 位存储，其他格式原样存储
+     */
+    private static void writeVisitor(DataOutputStream output, String uv) throws IOException {
+        if (uv == null) {
+            output.writeByte(NULL_CODE);
+            return;
+        }
+        long[] bits = VisitorIdUtil.toBits(uv);
+        int type = bits == null ? LITERAL_CODE : uv.length() == VisitorIdUtil.VISITOR_ID_LENGTH ? COMPACT_VISITOR : UUID_VISITOR;
+        if (type != LITERAL_CODE && !Objects.equals(formatVisitor(type, bits[0], bits[1]), uv)) {
+            type = LITERAL_CODE;
+        }
+        output.writeByte(type);
+        if (type == LITERAL_CODE) {
+            output.writeUTF(uv);
+            return;
+        }
+        output.writeLong(bits[0]);
+        output.writeLong(bits[1]);
+    }
+
+    private static String readVisitor(DataInputStream input) throws IOException {
+        int type = input.readUnsignedByte();
+        if (type == NULL_CODE) {
+            return null;
+        }
+        if (type == LITERAL_CODE) {
+            return input.readUTF();
+        }
+        return formatVisitor(type, input.readLong(), input.readLong());
+    }
+
+    private static String formatVisitor(int type, long mostSignificantBits, long leastSignificantBits) {
+        return type == COMPACT_VISITOR
+                ? VisitorIdUtil.fromBits(mostSignificantBits, leastSignificantBits)
+                : new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    /**
+     * 能无损还原的 IP 按 4 或 16 字节存储，其他取值原样存储
+     */
+    private static void writeIp(DataOutputStream output, String remoteAddr) throws IOException {
+        if (remoteAddr == null) {
+            output.writeByte(NULL_CODE);
+            return;
+        }
+        byte[] address = IpRegionDatabase.parseAddress(remoteAddr);
+        if (address == null || !Objects.equals(InetAddress.getByAddress(address).getHostAddress(), remoteAddr)) {
+            output.writeByte(LITERAL_CODE);
+            output.writeUTF(remoteAddr);
+            return;
+        }
+        output.writeByte(address.length);
+        output.write(address);
+    }
+
+    private static String readIp(DataInputStream input) throws IOException {
+        int length = input.readUnsignedByte();
+        if (length == NULL_CODE) {
+            return null;
+        }
+        if (length == LITERAL_CODE) {
+            return input.readUTF();
+        }
+        byte[] address = new byte[length];
+        input.readFully(address);
+        return InetAddress.getByAddress(address).getHostAddress();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeInteger(DataOutputStream output, Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readInt() : null;
+    }
+
+    /**
+     * 可空布尔值占 2 位：0 为空，1 为 false，2 为 true
+     */
+    private static int flag(Boolean value) {
+        return value == null ? 0 : (value ? 2 : 1);
+    }
+
+    private static Boolean flag(int bits) {
+        int value = bits & 0b11;
+        return value == 0 ? null : value == 2;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.mq.producer;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁多生产者单消费者环形缓冲区
+ * 每个槽位维护序号，生产者通过 CAS 抢占写入位置，缓冲区已满时立即返回而不阻塞
+ */
+public class MpscRingBuffer<E> {
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    /**
+     * 仅由消费者线程写入
+     */
+    private volatile long consumerIndex;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        int actualCapacity = Integer.highestOneBit(Math.max(requestedCapacity, 2) - 1) << 1;
+        this.capacity = actualCapacity;
+        this.mask = actualCapacity - 1;
+        this.elements = new AtomicReferenceArray<>(actualCapacity);
+        this.sequences = new AtomicLongArray(actualCapacity);
+        for (int i = 0; i < actualCapacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素，可由多个线程并发调用
+     *
+     * @return 缓冲区已满返回 false
+     */
+    public boolean offer(E element) {
+        long index = producerIndex.get();
+        for (; ; ) {
+            int slot = (int) (index & mask);
+            long difference = sequences.get(slot) - index;
+            if (difference == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.lazySet(slot, index + 1);
+                    return true;
+                }
+                index = producerIndex.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                index = producerIndex.get();
+            }
+        }
+    }
+
+    /**
+     * 取出最多 maxElements 个元素，只能由单个消费者线程调用
+     *
+     * @return 实际取出数量
+     */
+    public int drainTo(Collection<? super E> target, int maxElements) {
+        long index = consumerIndex;
+        int drained = 0;
+        while (drained < maxElements) {
+            int slot = (int) (index & mask);
+            if (sequences.get(slot) != index + 1) {
+                break;
+            }
+            target.add(elements.get(slot));
+            elements.lazySet(slot, null);
+            sequences.lazySet(slot, index + capacity);
+            index++;
+            drained++;
+        }
+        consumerIndex = index;
+        return drained;
+    }
+
+    /**
+     * 当前缓冲元素数量估算值
+     */
+    public int size() {
+        return (int) Math.max(producerIndex.get() - consumerIndex, 0L);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
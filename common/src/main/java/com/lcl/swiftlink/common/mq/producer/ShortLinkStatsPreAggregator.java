@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.mq.producer;
+
+import cn.hutool.core.date.DateUtil;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 短链接统计消息预聚合器
+ * 按短链接、统计级别、小时、浏览器、操作系统、设备、网络与地区合并访问，累计访问次数及新访客、新 IP 数量
+ */
+public class ShortLinkStatsPreAggregator {
+
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+    /**
+     * 累加一次访问，同一维度的累加在 compute 内串行执行
+     *
+     * @param statsRecord 已解析地区的单次访问统计，采样访问携带权重
+     */
+    public void accumulate(ShortLinkStatsRecordDTO statsRecord) {
+        aggregates.compute(aggregateKey(statsRecord), (key, aggregate) -> {
+            Aggregate actualAggregate = aggregate == null ? new Aggregate(statsRecord) : aggregate;
+            actualAggregate.pv += Objects.requireNonNullElse(statsRecord.getPv(), 1);
+            actualAggregate.uvCnt += count(statsRecord.getUvCnt(), statsRecord.getUvFirstFlag());
+            actualAggregate.uipCnt += count(statsRecord.getUipCnt(), statsRecord.getUipFirstFlag());
+            actualAggregate.todayUvCnt += count(statsRecord.getTodayUvCnt(), statsRecord.getTodayUvFirstFlag());
+            actualAggregate.todayUipCnt += count(statsRecord.getTodayUipCnt(), statsRecord.getTodayUipFirstFlag());
+            return actualAggregate;
+        });
+    }
+
+    /**
+     * 取出当前窗口全部聚合结果，逐个 remove 保证与并发累加不丢失计数
+     *
+     * @return 合并后的统计消息
+     */
+    public List<ShortLinkStatsRecordDTO> drain() {
+        List<ShortLinkStatsRecordDTO> result = new ArrayList<>(aggregates.size());
+        for (String each : aggregates.keySet()) {
+            Aggregate aggregate = aggregates.remove(each);
+            if (aggregate != null) {
+                result.add(aggregate.toStatsRecord());
+            }
+        }
+        return result;
+    }
+
+    private int count(Integer weightedCount, Boolean firstFlag) {
+        if (weightedCount != null) {
+            return weightedCount;
+        }
+        return Objects.equals(firstFlag, Boolean.TRUE) ? 1 : 0;
+    }
+
+    private String aggregateKey(ShortLinkStatsRecordDTO statsRecord) {
+        return String.join("\u0001",
+                statsRecord.getFullShortUrl(),
+                String.valueOf(statsRecord.getStatsLevel()),
+                DateUtil.format(statsRecord.getCurrentDate(), "yyyyMMddHH"),
+                statsRecord.getBrowser(),
+                statsRecord.getOs(),
+                statsRecord.getDevice(),
+                statsRecord.getNetwork(),
+                statsRecord.getCountry(),
+                statsRecord.getProvince(),
+                statsRecord.getCity(),
+                statsRecord.getAdcode());
+    }
+
+    private static class Aggregate {
+
+        private final ShortLinkStatsRecordDTO first;
+
+        private int pv;
+
+        private int uvCnt;
+
+        private int uipCnt;
+
+        private int todayUvCnt;
+
+        private int todayUipCnt;
+
+        private Aggregate(ShortLinkStatsRecordDTO first) {
+            this.first = first;
+        }
+
+        private ShortLinkStatsRecordDTO toStatsRecord() {
+            return ShortLinkStatsRecordDTO.builder()
+                    .fullShortUrl(first.getFullShortUrl())
+                    .os(first.getOs())
+                    .browser(first.getBrowser())
+                    .device(first.getDevice())
+                    .network(first.getNetwork())
+                    .country(first.getCountry())
+                    .province(first.getProvince())
+                    .city(first.getCity())
+                    .adcode(first.getAdcode())
+                    .currentDate(first.getCurrentDate())
+                    .statsLevel(first.getStatsLevel())
+                    .pv(pv)
+                    .uvCnt(uvCnt)
+                    .uipCnt(uipCnt)
+                    .todayUvCnt(todayUvCnt)
+                    .todayUipCnt(todayUipCnt)
+                    .accessLogFlag(Boolean.FALSE)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.mq.producer;
+
+import com.lcl.swiftlink.common.config.StatsCompactCodecConfiguration;
+import com.lcl.swiftlink.common.config.StatsEmitterConfiguration;
+import com.lcl.swiftlink.common.config.StatsPreAggregationConfiguration;
+import com.lcl.swiftlink.common.config.StatsStreamPartitionConfiguration;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.enums.ShortLinkStatsLevelEnum;
+import com.lcl.swiftlink.common.enums.StatsEmitterOverflowPolicyEnum;
+import com.lcl.swiftlink.common.mq.codec.ShortLinkStatsRecordCodec;
+import com.lcl.swiftlink.common.stats.IpRegion;
+import com.lcl.swiftlink.common.stats.ShortLinkIpRegionSearcher;
+import com.lcl.swiftlink.common.toolkit.StatsStreamKeyUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 短链接监控状态保存消息队列生产者
+ * 开启异步发送时，请求线程只将统计消息写入环形缓冲区，由后台线程攒批后通过管道一次性写入消息队列
+ * 开启预聚合时，相同维度的访问先在窗口内合并为一条带计数的统计消息再发送
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsSaveProducer implements InitializingBean, DisposableBean {
+
+    /**
+     * 攒批过程中后台线程检查缓冲区的间隔
+     */
+    private static final long BATCHING_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * 缓冲区无消息时后台线程的最长休眠时间，正常情况下由写入消息的线程提前唤醒
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StatsEmitterConfiguration statsEmitterConfiguration;
+    private final StatsPreAggregationConfiguration statsPreAggregationConfiguration;
+    private final StatsCompactCodecConfiguration statsCompactCodecConfiguration;
+    private final StatsStreamPartitionConfiguration statsStreamPartitionConfiguration;
+    private final ShortLinkIpRegionSearcher shortLinkIpRegionSearcher;
+
+    private final LongAdder discardCount = new LongAdder();
+
+    /**
+     * 累计丢失的统计消息数量，包括缓冲区已满丢弃及重试后仍发送失败的消息
+     */
+    private final LongAdder droppedCount = new LongAdder();
+
+    private MpscRingBuffer<ShortLinkStatsRecordDTO> ringBuffer;
+
+    private Thread flushThread;
+
+    private volatile boolean running;
+
+    /**
+     * 后台线程是否因缓冲区为空进入休眠，写入消息的线程据此决定是否唤醒
+     */
+    private volatile boolean flushThreadIdle;
+
+    private final ShortLinkStatsPreAggregator preAggregator = new ShortLinkStatsPreAggregator();
+
+    private ScheduledExecutorService preAggregationExecutor;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (isPreAggregation()) {
+            preAggregationExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("short-link_stats_pre_aggregation");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long window = statsPreAggregationConfiguration.getWindow();
+            preAggregationExecutor.scheduleWithFixedDelay(this::flushPreAggregation, window, window, TimeUnit.MILLISECONDS);
+        }
+        if (!isAsync()) {
+            return;
+        }
+        ringBuffer = new MpscRingBuffer<>(statsEmitterConfiguration.getBufferSize());
+        running = true;
+        flushThread = new Thread(this::flushLoop);
+        flushThread.setName("short-link_stats_emitter");
+        flushThread.setDaemon(true);
+        flushThread.start();
+    }
+
+    /**
+     * 发送短链接统计消息
+     *
+     * @param statsRecord 短链接统计实体参数
+     */
+    public void send(ShortLinkStatsRecordDTO statsRecord) {
+        if (isPreAggregation()) {
+            ShortLinkStatsLevelEnum statsLevel = ShortLinkStatsLevelEnum.of(statsRecord.getStatsLevel());
+            if (statsLevel.isDimensionEnabled()) {
+                IpRegion ipRegion = shortLinkIpRegionSearcher.search(statsRecord.getRemoteAddr());
+                statsRecord.setCountry(ipRegion.getCountry());
+                statsRecord.setProvince(ipRegion.getProvince());
+                statsRecord.setCity(ipRegion.getCity());
+                statsRecord.setAdcode(ipRegion.getAdcode());
+            }
+            preAggregator.accumulate(statsRecord);
+            if (!statsLevel.isAccessLogEnabled() || !Objects.equals(statsPreAggregationConfiguration.getAccessLog(), Boolean.TRUE)) {
+                return;
+            }
+            // 访问次数已计入聚合结果，原始消息仅用于记录访问日志
+            statsRecord.setPv(0);
+        }
+        emit(statsRecord);
+    }
+
+    private void emit(ShortLinkStatsRecordDTO statsRecord) {
+        if (!isAsync()) {
+            add(stringRedisTemplate, statsRecord);
+            return;
+        }
+        if (ringBuffer.offer(statsRecord)) {
+            if (flushThreadIdle) {
+                flushThreadIdle = false;
+                LockSupport.unpark(flushThread);
+            }
+            return;
+        }
+        if (statsEmitterConfiguration.getOverflowPolicy() == StatsEmitterOverflowPolicyEnum.CALLER_RUNS) {
+            add(stringRedisTemplate, statsRecord);
+            return;
+        }
+        discardCount.increment();
+        droppedCount.increment();
+    }
+
+    /**
+     * 累计丢失的统计消息数量，用于监控采集
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public boolean isAsync() {
+        return Objects.equals(statsEmitterConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    public boolean isPreAggregation() {
+        return Objects.equals(statsPreAggregationConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    private void flushPreAggregation() {
+        try {
+            preAggregator.drain().forEach(this::emit);
+        } catch (Throwable ex) {
+            log.error("短链接统计预聚合消息发送失败", ex);
+        }
+    }
+
+    private void flushLoop() {
+        int flushSize = statsEmitterConfiguration.getFlushSize();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(statsEmitterConfiguration.getFlushInterval());
+        List<ShortLinkStatsRecordDTO> batch = new ArrayList<>(flushSize);
+        long flushDeadline = 0L;
+        while (running || ringBuffer.size() > 0 || !batch.isEmpty()) {
+            boolean wasEmpty = batch.isEmpty();
+            ringBuffer.drainTo(batch, flushSize - batch.size());
+            long now = System.nanoTime();
+            if (wasEmpty && !batch.isEmpty()) {
+                flushDeadline = now + flushIntervalNanos;
+            }
+            if (batch.size() >= flushSize || (!batch.isEmpty() && (now - flushDeadline >= 0 || !running))) {
+                flush(batch);
+                batch.clear();
+                continue;
+            }
+            if (!batch.isEmpty()) {
+                LockSupport.parkNanos(Math.min(BATCHING_PARK_NANOS, flushDeadline - now));
+                continue;
+            }
+            // 先发布休眠标识再检查缓冲区，与写入线程先写入再检查标识配合，保证缓冲区由空变为非空时一定会被唤醒
+            flushThreadIdle = true;
+            if (running && ringBuffer.size() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            flushThreadIdle = false;
+        }
+    }
+
+    /**
+     * 批量发送统计消息，管道写入失败时按退避间隔重试，重试耗尽后逐条同步写入，仍失败的消息计入丢失数量
+     * 管道失败时部分消息可能已写入，重试会产生少量重复统计，优先保证不丢失
+     */
+    private void flush(List<ShortLinkStatsRecordDTO> batch) {
+        int retries = statsEmitterConfiguration.getFlushRetries();
+        long backoff = statsEmitterConfiguration.getFlushRetryBackoff();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                pipeline(batch);
+                break;
+            } catch (Throwable ex) {
+                if (attempt >= retries) {
+                    log.error("短链接统计消息批量发送失败，重试 {} 次后逐条发送，消息数量：{}", retries, batch.size(), ex);
+                    sendOneByOne(batch);
+                    break;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoff << attempt));
+            }
+        }
+        long discarded = discardCount.sumThenReset();
+        if (discarded > 0L) {
+            log.warn("短链接统计消息缓冲区已满，丢弃消息数量：{}", discarded);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pipeline(List<ShortLinkStatsRecordDTO> batch) {
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                batch.forEach(each -> add(stringOperations, each));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 逐条同步写入，与缓冲区已满时调用方直接写入的路径相同；Redis 连接不可用时不再逐条等待超时，剩余消息直接计入丢失
+     */
+    private void sendOneByOne(List<ShortLinkStatsRecordDTO> batch) {
+        int dropped = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                add(stringRedisTemplate, batch.get(i));
+            } catch (DataAccessResourceFailureException ex) {
+                dropped += batch.size() - i;
+                break;
+            } catch (Throwable ex) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            droppedCount.add(dropped);
+            log.error("短链接统计消息发送失败，丢失消息数量：{}，累计丢失：{}", dropped, droppedCount.sum());
+        }
+    }
+
+    private void add(RedisOperations<String, String> operations, ShortLinkStatsRecordDTO statsRecord) {
+        boolean compact = Objects.equals(statsCompactCodecConfiguration.getEnable(), Boolean.TRUE);
+        String streamKey = StatsStreamKeyUtil.streamKey(statsRecord.getFullShortUrl(), statsStreamPartitionConfiguration.getPartitions());
+        operations.opsForStream().add(streamKey, ShortLinkStatsRecordCodec.encode(statsRecord, compact));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (preAggregationExecutor != null) {
+            preAggregationExecutor.shutdown();
+            preAggregationExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            flushPreAggregation();
+        }
+        if (flushThread == null) {
+            return;
+        }
+        // 停止后将缓冲区剩余消息全部发送再退出
+        running = false;
+        LockSupport.unpark(flushThread);
+        flushThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
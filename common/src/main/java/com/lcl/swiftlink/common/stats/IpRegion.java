@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.stats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * IP 所属地区
+ */
+@Getter
+@AllArgsConstructor
+public class IpRegion {
+
+    /**
+     * 未查询到地区时使用的默认值
+     */
+    public static final IpRegion UNKNOWN = new IpRegion("未知", "未知", "未知", "未知");
+
+    /**
+     * 国家
+     */
+    private final String country;
+
+    /**
+     * 省份
+     */
+    private final String province;
+
+    /**
+     * 城市
+     */
+    private final String city;
+
+    /**
+     * 城市编码
+     */
+    private final String adcode;
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.stats;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存映射的 IP 地址库，按起始地址有序的 IPv4、IPv6 区间上二分查找
+ * 文件格式（大端序）：
+ * <pre>
+ * int   magic        固定为 0x534C4950
+ * int   version      当前为 1
+ * int   ipv4Count    IPv4 区间数量
+ * int   ipv6Count    IPv6 区间数量
+ * ipv4Count 个区间：int start, int end, int regionOffset
+ * ipv6Count 个区间：byte[16] start, byte[16] end, int regionOffset
+ * 地区字典：short length, UTF-8 编码的 "国家|省份|城市|城市编码"
+ * </pre>
+ */
+public class IpRegionDatabase {
+
+    static final int MAGIC = 0x534C4950;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int IPV4_RECORD_SIZE = 12;
+
+    static final int IPV6_RECORD_SIZE = 36;
+
+    private final MappedByteBuffer buffer;
+
+    private final int ipv4Count;
+
+    private final int ipv6Count;
+
+    private final int ipv6Offset;
+
+    /**
+     * 地区字典条目数量远小于区间数量，解码结果按偏移量缓存
+     */
+    private final Map<Integer, IpRegion> regionCache = new ConcurrentHashMap<>();
+
+    private IpRegionDatabase(MappedByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("IP 地址库文件格式错误");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("IP 地址库版本不支持：" + buffer.getInt(4));
+        }
+        int ipv4Count = buffer.getInt(8);
+        int ipv6Count = buffer.getInt(12);
+        // 区间数量与文件大小不符说明文件被截断或正在写入，拒绝加载避免查询时越界
+        if (ipv4Count < 0 || ipv6Count < 0
+                || HEADER_SIZE + (long) ipv4Count * IPV4_RECORD_SIZE + (long) ipv6Count * IPV6_RECORD_SIZE > buffer.capacity()) {
+            throw new IllegalArgumentException("IP 地址库区间数量与文件大小不符，IPv4：" + ipv4Count + "，IPv6：" + ipv6Count + "，文件大小：" + buffer.capacity());
+        }
+        this.buffer = buffer;
+        this.ipv4Count = ipv4Count;
+        this.ipv6Count = ipv6Count;
+        this.ipv6Offset = HEADER_SIZE + ipv4Count * IPV4_RECORD_SIZE;
+    }
+
+    /**
+     * 以只读方式映射地址库文件
+     */
+    public static IpRegionDatabase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new IpRegionDatabase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 查询 IP 所属地区
+     *
+     * @param ip IPv4 或 IPv6 字面量
+     * @return 所属地区，未收录或 IP 非法返回 null
+     */
+    public IpRegion search(String ip) {
+        byte[] address = parseAddress(ip);
+        if (address == null) {
+            return null;
+        }
+        int regionOffset = address.length == 4 ? searchIpv4(address) : searchIpv6(address);
+        return regionOffset < 0 ? null : regionCache.computeIfAbsent(regionOffset, this::readRegion);
+    }
+
+    private int searchIpv4(byte[] address) {
+        int ip = ByteBuffer.wrap(address).getInt();
+        int low = 0;
+        int high = ipv4Count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = HEADER_SIZE + mid * IPV4_RECORD_SIZE;
+            if (Integer.compareUnsigned(ip, buffer.getInt(position)) < 0) {
+                high = mid - 1;
+            } else if (Integer.compareUnsigned(ip, buffer.getInt(position + 4)) > 0) {
+                low = mid + 1;
+            } else {
+                return buffer.getInt(position + 8);
+            }
+        }
+        return -1;
+    }
+
+    private int searchIpv6(byte[] address) {
+        ByteBuffer wrapped = ByteBuffer.wrap(address);
+        long ipHigh = wrapped.getLong();
+        long ipLow = wrapped.getLong();
+        int low = 0;
+        int high = ipv6Count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int position = ipv6Offset + mid * IPV6_RECORD_SIZE;
+            if (compareIpv6(ipHigh, ipLow, position) < 0) {
+                high = mid - 1;
+            } else if (compareIpv6(ipHigh, ipLow, position + 16) > 0) {
+                low = mid + 1;
+            } else {
+                return buffer.getInt(position + 32);
+            }
+        }
+        return -1;
+    }
+
+    private int compareIpv6(long ipHigh, long ipLow, int position) {
+        int result = Long.compareUnsigned(ipHigh, buffer.getLong(position));
+        return result != 0 ? result : Long.compareUnsigned(ipLow, buffer.getLong(position + 8));
+    }
+
+    private IpRegion readRegion(int regionOffset) {
+        int length = Short.toUnsignedInt(buffer.getShort(regionOffset));
+        byte[] bytes = new byte[length];
+        buffer.get(regionOffset + 2, bytes);
+        String[] fields = new String(bytes, StandardCharsets.UTF_8).split("\\|", -1);
+        return new IpRegion(field(fields, 0), field(fields, 1), field(fields, 2), field(fields, 3));
+    }
+
+    private String field(String[] fields, int index) {
+        return index < fields.length && !fields[index].isEmpty() ? fields[index] : IpRegion.UNKNOWN.getCountry();
+    }
+
+    /**
+     * 解析 IP 字面量，X-Forwarded-For 多级代理时取第一个地址，非 IP 字面量不做域名解析直接返回 null
+     */
+    public static byte[] parseAddress(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        int comma = ip.indexOf(',');
+        String actualIp = (comma >= 0 ? ip.substring(0, comma) : ip).trim();
+        if (actualIp.indexOf(':') >= 0) {
+            try {
+                // 含冒号的字面量按 IPv6 解析不会触发域名查询，IPv4 映射地址返回 4 字节
+                return InetAddress.getByName(actualIp).getAddress();
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+        return parseIpv4(actualIp);
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        byte[] address = new byte[4];
+        int part = 0;
+        int value = -1;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return null;
+                }
+            } else if (c == '.' && value >= 0 && part < 3) {
+                address[part++] = (byte) value;
+                value = -1;
+            } else {
+                return null;
+            }
+        }
+        if (part != 3 || value < 0) {
+            return null;
+        }
+        address[3] = (byte) value;
+        return address;
+    }
+}
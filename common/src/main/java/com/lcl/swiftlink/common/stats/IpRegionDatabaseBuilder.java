@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.stats;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * IP 地址库生成工具，将 CSV 区间数据转换为 {@link IpRegionDatabase} 使用的二进制文件
+ * CSV 每行格式：起始IP,结束IP,国家,省份,城市,城市编码，同一行的起止地址须为同一协议
+ * 用法：先执行 mvn -pl common install 打包公共模块，再在服务工作目录下执行
+ * <pre>
+ * java -cp common/target/swiftlink-common-1.0-SNAPSHOT.jar com.lcl.swiftlink.common.stats.IpRegionDatabaseBuilder ip-region.csv ./data/ip-region.db
+ * </pre>
+ * 生成的文件路径与 short-link.stats.locale.ip-region.path 保持一致，服务运行期间覆盖文件会在下一个检查周期自动热加载
+ */
+public class IpRegionDatabaseBuilder {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("用法：IpRegionDatabaseBuilder <源 CSV 文件> <目标地址库文件>");
+            return;
+        }
+        build(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * 生成 IP 地址库文件
+     *
+     * @param source CSV 区间数据
+     * @param target 目标地址库文件
+     */
+    public static void build(Path source, Path target) throws IOException {
+        List<IpRange> ipv4Ranges = new ArrayList<>();
+        List<IpRange> ipv6Ranges = new ArrayList<>();
+        Map<String, Integer> regionIndexes = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length < 6) {
+                    throw new IllegalArgumentException("CSV 行格式错误：" + line);
+                }
+                byte[] start = IpRegionDatabase.parseAddress(fields[0]);
+                byte[] end = IpRegionDatabase.parseAddress(fields[1]);
+                if (start == null || end == null || start.length != end.length) {
+                    throw new IllegalArgumentException("CSV 行 IP 区间错误：" + line);
+                }
+                String region = String.join("|", fields[2].trim(), fields[3].trim(), fields[4].trim(), fields[5].trim());
+                int regionIndex = regionIndexes.computeIfAbsent(region, each -> regionIndexes.size());
+                (start.length == 4 ? ipv4Ranges : ipv6Ranges).add(new IpRange(start, end, regionIndex));
+            }
+        }
+        Comparator<IpRange> comparator = (o1, o2) -> Arrays.compareUnsigned(o1.start, o2.start);
+        ipv4Ranges.sort(comparator);
+        ipv6Ranges.sort(comparator);
+        int regionPoolOffset = IpRegionDatabase.HEADER_SIZE
+                + ipv4Ranges.size() * IpRegionDatabase.IPV4_RECORD_SIZE
+                + ipv6Ranges.size() * IpRegionDatabase.IPV6_RECORD_SIZE;
+        ByteArrayOutputStream regionPool = new ByteArrayOutputStream();
+        int[] regionOffsets = new int[regionIndexes.size()];
+        try (DataOutputStream regionOutput = new DataOutputStream(regionPool)) {
+            for (Map.Entry<String, Integer> each : regionIndexes.entrySet()) {
+                byte[] bytes = each.getKey().getBytes(StandardCharsets.UTF_8);
+                regionOffsets[each.getValue()] = regionPoolOffset + regionOutput.size();
+                regionOutput.writeShort(bytes.length);
+                regionOutput.write(bytes);
+            }
+        }
+        try (OutputStream fileOutput = Files.newOutputStream(target);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+            output.writeInt(IpRegionDatabase.MAGIC);
+            output.writeInt(IpRegionDatabase.VERSION);
+            output.writeInt(ipv4Ranges.size());
+            output.writeInt(ipv6Ranges.size());
+            for (IpRange each : ipv4Ranges) {
+                output.write(each.start);
+                output.write(each.end);
+                output.writeInt(regionOffsets[each.regionIndex]);
+            }
+            for (IpRange each : ipv6Ranges) {
+                output.write(each.start);
+                output.write(each.end);
+                output.writeInt(regionOffsets[each.regionIndex]);
+            }
+            regionPool.writeTo(output);
+        }
+    }
+
+    private static class IpRange {
+
+        private final byte[] start;
+
+        private final byte[] end;
+
+        private final int regionIndex;
+
+        private IpRange(byte[] start, byte[] end, int regionIndex) {
+            this.start = start;
+            this.end = end;
+            this.regionIndex = regionIndex;
+        }
+    }
+}
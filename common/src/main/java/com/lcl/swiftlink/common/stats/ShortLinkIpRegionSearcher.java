@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.stats;
+
+import com.lcl.swiftlink.common.config.StatsIpRegionConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接统计本地 IP 地区查询
+ * 启动时映射本地地址库文件，后台线程定时检查文件变更并整体替换，查询过程无网络依赖
+ * 地址库文件需通过 {@link IpRegionDatabaseBuilder} 预先生成，开启后文件不存在时启动阶段输出一次错误日志
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkIpRegionSearcher implements InitializingBean, DisposableBean {
+
+    private final StatsIpRegionConfiguration statsIpRegionConfiguration;
+
+    private volatile IpRegionDatabase ipRegionDatabase;
+
+    private volatile FileTime loadedModifiedTime;
+
+    /**
+     * 文件缺失是否已输出过日志，避免定时检查重复输出
+     */
+    private volatile boolean missingLogged;
+
+    private ScheduledExecutorService reloadExecutor;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!isEnable()) {
+            return;
+        }
+        reload();
+        reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("short-link_ip_region_reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long reloadInterval = statsIpRegionConfiguration.getReloadInterval();
+        reloadExecutor.scheduleWithFixedDelay(this::reload, reloadInterval, reloadInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 查询 IP 所属地区
+     *
+     * @param ip 访问用户IP
+     * @return 所属地区，地址库未加载或未收录时返回 {@link IpRegion#UNKNOWN}
+     */
+    public IpRegion search(String ip) {
+        IpRegionDatabase actualDatabase = ipRegionDatabase;
+        if (actualDatabase == null) {
+            return IpRegion.UNKNOWN;
+        }
+        IpRegion ipRegion = actualDatabase.search(ip);
+        return ipRegion == null ? IpRegion.UNKNOWN : ipRegion;
+    }
+
+    public boolean isEnable() {
+        return Objects.equals(statsIpRegionConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    /**
+     * 地址库文件修改时间变化时重新映射，加载失败保留旧地址库
+     */
+    private void reload() {
+        Path path = Path.of(statsIpRegionConfiguration.getPath());
+        try {
+            if (!Files.isReadable(path)) {
+                if (!missingLogged) {
+                    missingLogged = true;
+                    log.error("IP 地址库已开启但文件不存在或不可读，地区统计记为未知：{}，请使用 IpRegionDatabaseBuilder 生成地址库文件", path.toAbsolutePath());
+                }
+                return;
+            }
+            missingLogged = false;
+            FileTime modifiedTime = Files.getLastModifiedTime(path);
+            if (Objects.equals(modifiedTime, loadedModifiedTime)) {
+                return;
+            }
+            ipRegionDatabase = IpRegionDatabase.open(path);
+            loadedModifiedTime = modifiedTime;
+            log.info("IP 地址库加载完成：{}", path);
+        } catch (Throwable ex) {
+            log.error("IP 地址库加载失败：{}", path, ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (reloadExecutor != null) {
+            reloadExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.stats;
+
+import com.lcl.swiftlink.common.config.StatsSamplingConfiguration;
+import com.lcl.swiftlink.common.config.StatsStreamPartitionConfiguration;
+import com.lcl.swiftlink.common.toolkit.StatsStreamKeyUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_SAMPLING_RATE_KEY;
+
+/**
+ * 短链接统计自适应采样器
+ * 统计消息队列积压超过阈值时按比例降低采样率，被采样的访问按采样率倒数加权，保证访问量估计无偏
+ * 单链接采样率保存在 Redis 中由各节点共享，优先级高于全局自适应采样率
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsSampler implements InitializingBean, DisposableBean {
+
+    private final StatsSamplingConfiguration statsSamplingConfiguration;
+    private final StatsStreamPartitionConfiguration statsStreamPartitionConfiguration;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Getter
+    private volatile double globalRate = 1D;
+
+    @Getter
+    private volatile long streamLag;
+
+    @Getter
+    private volatile Map<String, Double> linkRates = Map.of();
+
+    private ScheduledExecutorService samplingExecutor;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!isEnable()) {
+            return;
+        }
+        samplingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("short-link_stats_sampling");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long checkInterval = statsSamplingConfiguration.getCheckInterval();
+        samplingExecutor.scheduleWithFixedDelay(this::refresh, 0, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 判断本次访问是否记录统计
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 本次访问的统计权重，为 0 表示不记录
+     */
+    public int sample(String fullShortUrl) {
+        if (!isEnable()) {
+            return 1;
+        }
+        double rate = linkRates.getOrDefault(fullShortUrl, globalRate);
+        if (rate >= 1D) {
+            return 1;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() >= rate) {
+            return 0;
+        }
+        // 权重 1/p 非整数时随机取整，期望值仍为 1/p
+        double weight = 1D / rate;
+        int floorWeight = (int) weight;
+        return random.nextDouble() < weight - floorWeight ? floorWeight + 1 : floorWeight;
+    }
+
+    /**
+     * 设置单个短链接采样率
+     *
+     * @param fullShortUrl 完整短链接
+     * @param rate         采样率，取值范围 (0, 1]，为空时删除
+     */
+    public void setLinkRate(String fullShortUrl, Double rate) {
+        if (rate == null) {
+            stringRedisTemplate.opsForHash().delete(SHORT_LINK_STATS_SAMPLING_RATE_KEY, fullShortUrl);
+        } else {
+            stringRedisTemplate.opsForHash().put(SHORT_LINK_STATS_SAMPLING_RATE_KEY, fullShortUrl, String.valueOf(rate));
+        }
+        refreshLinkRates();
+    }
+
+    public boolean isEnable() {
+        return Objects.equals(statsSamplingConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    private void refresh() {
+        try {
+            int partitions = statsStreamPartitionConfiguration.getPartitions();
+            long actualLag = 0L;
+            for (int i = 0; i < Math.max(partitions, 1); i++) {
+                Long partitionLag = stringRedisTemplate.opsForStream().size(StatsStreamKeyUtil.partitionKey(i, partitions));
+                actualLag += partitionLag == null ? 0L : partitionLag;
+            }
+            streamLag = actualLag;
+            long lagThreshold = statsSamplingConfiguration.getLagThreshold();
+            globalRate = streamLag <= lagThreshold
+                    ? 1D
+                    : Math.max(statsSamplingConfiguration.getMinRate(), (double) lagThreshold / streamLag);
+            refreshLinkRates();
+        } catch (Throwable ex) {
+            log.error("短链接统计采样率刷新失败", ex);
+        }
+    }
+
+    private void refreshLinkRates() {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(SHORT_LINK_STATS_SAMPLING_RATE_KEY);
+        Map<String, Double> actualLinkRates = new HashMap<>(entries.size());
+        entries.forEach((key, value) -> actualLinkRates.put(key.toString(), Double.parseDouble(value.toString())));
+        linkRates = actualLinkRates;
+    }
+
+    @Override
+    public void destroy() {
+        if (samplingExecutor != null) {
+            samplingExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.stats;
+
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 短链接统计访客分类结果，记录本次访问带来的访客数、IP 数增量
+ * Set 模式下增量为 0 或 1；HyperLogLog 模式下增量为写入前后基数估算值之差，可能为 0 或大于 1，累加结果与基数估算值一致
+ */
+@Getter
+@AllArgsConstructor
+public class ShortLinkStatsVisitorCounts {
+
+    /**
+     * 短链接历史访客数增量
+     */
+    private final int uvCnt;
+
+    /**
+     * 短链接今日访客数增量
+     */
+    private final int todayUvCnt;
+
+    /**
+     * 短链接历史 IP 数增量
+     */
+    private final int uipCnt;
+
+    /**
+     * 短链接今日 IP 数增量
+     */
+    private final int todayUipCnt;
+
+    /**
+     * 将访客数、IP 数增量按采样权重写入统计消息
+     *
+     * @param statsRecord 短链接统计实体参数
+     * @param newVisitor  本次访问是否新下发了访客 Cookie
+     * @param statsWeight 采样权重
+     */
+    public void applyTo(ShortLinkStatsRecordDTO statsRecord, boolean newVisitor, int statsWeight) {
+        // 新下发 Cookie 的访客至少计为一个新访客
+        int actualUvCnt = newVisitor ? Math.max(uvCnt, 1) : uvCnt;
+        int actualTodayUvCnt = newVisitor ? Math.max(todayUvCnt, 1) : todayUvCnt;
+        statsRecord.setUvFirstFlag(actualUvCnt > 0);
+        statsRecord.setUipFirstFlag(uipCnt > 0);
+        statsRecord.setTodayUvFirstFlag(actualTodayUvCnt > 0);
+        statsRecord.setTodayUipFirstFlag(todayUipCnt > 0);
+        if (statsWeight <= 1 && actualUvCnt <= 1 && actualTodayUvCnt <= 1 && uipCnt <= 1 && todayUipCnt <= 1) {
+            return;
+        }
+        // 采样访问按采样率倒数加权，增量大于 1 时标识无法表达，同样写入计数
+        statsRecord.setPv(statsWeight);
+        statsRecord.setUvCnt(actualUvCnt * statsWeight);
+        statsRecord.setUipCnt(uipCnt * statsWeight);
+        statsRecord.setTodayUvCnt(actualTodayUvCnt * statsWeight);
+        statsRecord.setTodayUipCnt(todayUipCnt * statsWeight);
+    }
+}
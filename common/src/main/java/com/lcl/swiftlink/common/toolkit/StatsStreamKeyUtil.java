@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.toolkit;
+
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_PARTITION_TOPIC_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
+
+/**
+ * 短链接统计消息队列 Key 工具类
+ */
+public final class StatsStreamKeyUtil {
+
+    private StatsStreamKeyUtil() {
+    }
+
+    /**
+     * 获取完整短链接所在分区，同一短链接的消息始终进入同一分区以保证顺序
+     *
+     * @param fullShortUrl 完整短链接
+     * @param partitions   分区数量
+     * @return 分区号
+     */
+    public static int partition(String fullShortUrl, int partitions) {
+        return partitions <= 1 ? 0 : Math.floorMod(fullShortUrl.hashCode(), partitions);
+    }
+
+    /**
+     * 获取完整短链接对应的消息队列 Key
+     *
+     * @param fullShortUrl 完整短链接
+     * @param partitions   分区数量
+     * @return 消息队列 Key
+     */
+    public static String streamKey(String fullShortUrl, int partitions) {
+        return partitionKey(partition(fullShortUrl, partitions), partitions);
+    }
+
+    /**
+     * 获取分区对应的消息队列 Key，未分区时沿用原有 Key
+     *
+     * @param partition  分区号
+     * @param partitions 分区数量
+     * @return 消息队列 Key
+     */
+    public static String partitionKey(int partition, int partitions) {
+        return partitions <= 1 ? SHORT_LINK_STATS_STREAM_TOPIC_KEY : String.format(SHORT_LINK_STATS_STREAM_PARTITION_TOPIC_KEY, partition);
+    }
+}
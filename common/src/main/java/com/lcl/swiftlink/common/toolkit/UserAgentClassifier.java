@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.toolkit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * 用户访问 User-Agent 分类器
+ * 预先将全部关键字编译为 Aho-Corasick 自动机，一次忽略大小写的扫描得出操作系统、浏览器与设备，结果按原始 User-Agent 缓存
+ */
+public final class UserAgentClassifier {
+
+    /**
+     * 缓存的不同 User-Agent 数量上限，真实流量中不同取值通常只有数千个
+     */
+    private static final int CACHE_MAXIMUM_SIZE = 4096;
+
+    private static final String UNKNOWN = "Unknown";
+
+    private static final String[] KEYWORDS = {
+            "windows", "mac", "linux", "android", "iphone", "ipad",
+            "edg", "chrome", "firefox", "safari", "opera", "msie", "trident",
+            "mobile"
+    };
+
+    private static final int WINDOWS = 1;
+    private static final int MAC = 1 << 1;
+    private static final int LINUX = 1 << 2;
+    private static final int ANDROID = 1 << 3;
+    private static final int IPHONE = 1 << 4;
+    private static final int IPAD = 1 << 5;
+    private static final int EDG = 1 << 6;
+    private static final int CHROME = 1 << 7;
+    private static final int FIREFOX = 1 << 8;
+    private static final int SAFARI = 1 << 9;
+    private static final int OPERA = 1 << 10;
+    private static final int MSIE = 1 << 11;
+    private static final int TRIDENT = 1 << 12;
+    private static final int MOBILE = 1 << 13;
+
+    private static final int ALPHABET_SIZE = 128;
+
+    private static final UserAgentInfo UNKNOWN_USER_AGENT = new UserAgentInfo(UNKNOWN, UNKNOWN, "PC");
+
+    /**
+     * 状态转移表，非 ASCII 字符直接回到初始状态
+     */
+    private static final int[][] TRANSITIONS;
+
+    /**
+     * 各状态命中的关键字位图，已合并失败链上的输出
+     */
+    private static final int[] OUTPUTS;
+
+    private static final Cache<String, UserAgentInfo> USER_AGENT_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_MAXIMUM_SIZE)
+            .build();
+
+    static {
+        int maxStates = Arrays.stream(KEYWORDS).mapToInt(String::length).sum() + 1;
+        int[][] transitions = new int[maxStates][ALPHABET_SIZE];
+        int[] outputs = new int[maxStates];
+        for (int[] each : transitions) {
+            Arrays.fill(each, -1);
+        }
+        int stateCount = 1;
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            int state = 0;
+            for (char each : KEYWORDS[i].toCharArray()) {
+                if (transitions[state][each] == -1) {
+                    transitions[state][each] = stateCount++;
+                }
+                state = transitions[state][each];
+            }
+            outputs[state] |= 1 << i;
+        }
+        int[] failures = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            if (transitions[0][c] == -1) {
+                transitions[0][c] = 0;
+            } else {
+                queue.add(transitions[0][c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[failures[state]];
+            for (int c = 0; c < ALPHABET_SIZE; c++) {
+                int next = transitions[state][c];
+                if (next == -1) {
+                    transitions[state][c] = transitions[failures[state]][c];
+                } else {
+                    failures[next] = transitions[failures[state]][c];
+                    queue.add(next);
+                }
+            }
+        }
+        TRANSITIONS = Arrays.copyOf(transitions, stateCount);
+        OUTPUTS = Arrays.copyOf(outputs, stateCount);
+    }
+
+    private UserAgentClassifier() {
+    }
+
+    /**
+     * 解析 User-Agent，优先返回缓存结果
+     *
+     * @param userAgent 原始 User-Agent，可以为空
+     * @return 操作系统、浏览器与设备
+     */
+    public static UserAgentInfo classify(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return UNKNOWN_USER_AGENT;
+        }
+        UserAgentInfo userAgentInfo = USER_AGENT_CACHE.getIfPresent(userAgent);
+        if (userAgentInfo == null) {
+            userAgentInfo = doClassify(userAgent);
+            USER_AGENT_CACHE.put(userAgent, userAgentInfo);
+        }
+        return userAgentInfo;
+    }
+
+    /**
+     * 不经过缓存直接解析 User-Agent，判断优先级与原有逐个关键字匹配保持一致，包内可见便于基准测试对比未命中缓存的耗时
+     */
+    static UserAgentInfo doClassify(String userAgent) {
+        int matched = match(userAgent);
+        return new UserAgentInfo(resolveOs(matched), resolveBrowser(matched), (matched & MOBILE) != 0 ? "Mobile" : "PC");
+    }
+
+    private static int match(String userAgent) {
+        int state = 0;
+        int matched = 0;
+        for (int i = 0, length = userAgent.length(); i < length; i++) {
+            char c = userAgent.charAt(i);
+            if (c >= ALPHABET_SIZE) {
+                state = 0;
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c | 0x20);
+            }
+            state = TRANSITIONS[state][c];
+            matched |= OUTPUTS[state];
+        }
+        return matched;
+    }
+
+    private static String resolveOs(int matched) {
+        if ((matched & WINDOWS) != 0) {
+            return "Windows";
+        } else if ((matched & MAC) != 0) {
+            return "Mac OS";
+        } else if ((matched & LINUX) != 0) {
+            return "Linux";
+        } else if ((matched & ANDROID) != 0) {
+            return "Android";
+        } else if ((matched & (IPHONE | IPAD)) != 0) {
+            return "iOS";
+        }
+        return UNKNOWN;
+    }
+
+    private static String resolveBrowser(int matched) {
+        if ((matched & EDG) != 0) {
+            return "Microsoft Edge";
+        } else if ((matched & CHROME) != 0) {
+            return "Google Chrome";
+        } else if ((matched & FIREFOX) != 0) {
+            return "Mozilla Firefox";
+        } else if ((matched & SAFARI) != 0) {
+            return "Apple Safari";
+        } else if ((matched & OPERA) != 0) {
+            return "Opera";
+        } else if ((matched & (MSIE | TRIDENT)) != 0) {
+            return "Internet Explorer";
+        }
+        return UNKNOWN;
+    }
+}
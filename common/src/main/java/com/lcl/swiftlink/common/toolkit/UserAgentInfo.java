@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.toolkit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 用户访问 User-Agent 解析结果
+ */
+@Getter
+@AllArgsConstructor
+public class UserAgentInfo {
+
+    /**
+     * 操作系统
+     */
+    private final String os;
+
+    /**
+     * 浏览器
+     */
+    private final String browser;
+
+    /**
+     * 操作设备
+     */
+    private final String device;
+}
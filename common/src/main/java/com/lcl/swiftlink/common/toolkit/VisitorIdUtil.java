@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.toolkit;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 访客标识工具类
+ * 访客标识为 128 位随机数，Cookie 及存储统一使用 22 位 Base64URL 定长字符串，兼容解析历史 36 位 UUID 字符串 Cookie
+ */
+public final class VisitorIdUtil {
+
+    /**
+     * 访客标识字符串长度
+     */
+    public static final int VISITOR_ID_LENGTH = 22;
+
+    private static final int LEGACY_UUID_LENGTH = 36;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private VisitorIdUtil() {
+    }
+
+    /**
+     * 生成新的访客标识
+     */
+    public static String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return fromBits(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * 将 Cookie 中的访客标识转换为定长格式
+     *
+     * @param cookieValue 22 位访客标识或历史 36 位 UUID 字符串
+     * @return 定长访客标识，无法识别返回 null
+     */
+    public static String normalize(String cookieValue) {
+        long[] bits = toBits(cookieValue);
+        return bits == null ? null : fromBits(bits[0], bits[1]);
+    }
+
+    /**
+     * 解析访客标识的 128 位取值
+     *
+     * @param visitorId 22 位访客标识或历史 36 位 UUID 字符串
+     * @return 高 64 位与低 64 位，无法识别返回 null
+     */
+    public static long[] toBits(String visitorId) {
+        if (visitorId == null) {
+            return null;
+        }
+        try {
+            if (visitorId.length() == VISITOR_ID_LENGTH) {
+                ByteBuffer buffer = ByteBuffer.wrap(DECODER.decode(visitorId));
+                return new long[]{buffer.getLong(), buffer.getLong()};
+            }
+            if (visitorId.length() == LEGACY_UUID_LENGTH) {
+                UUID uuid = UUID.fromString(visitorId);
+                return new long[]{uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()};
+            }
+        } catch (IllegalArgumentException ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * 由 128 位取值生成定长访客标识
+     */
+    public static String fromBits(long mostSignificantBits, long leastSignificantBits) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(16).putLong(mostSignificantBits).putLong(leastSignificantBits).array());
+    }
+}
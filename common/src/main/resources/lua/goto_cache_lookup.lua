@@ -0,0 +1,17 @@
+-- 短链接跳转缓存一次性查询
+-- KEYS[1] 跳转缓存 Key，KEYS[2] 空值缓存 Key，KEYS[3] 跳转缓存软过期时间 Key
+-- 三个 Key 使用短链接作为相同的哈希标签，Redis 集群下位于同一槽位；布隆过滤器位图不在脚本中读取，由调用方在需要回源时单独判断
+-- 返回 {1, 原始链接, 剩余有效毫秒数, 软过期时间} 表示命中，{2} 表示短链接不存在，{3} 表示需要回源重建
+local originUrl = redis.call('GET', KEYS[1])
+if originUrl then
+    local ttl = redis.call('PTTL', KEYS[1])
+    local softExpireTime = redis.call('GET', KEYS[3])
+    if softExpireTime then
+        return {1, originUrl, ttl, softExpireTime}
+    end
+    return {1, originUrl, ttl}
+end
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    return {2}
+end
+return {3}
@@ -0,0 +1,36 @@
+-- 一次往返记录访客并返回短链接历史及今日的访客数、IP 数增量
+-- KEYS[1]: 历史访客去重 Key，KEYS[2]: 今日访客去重 Key，KEYS[3]: 历史 IP 去重 Key，KEYS[4]: 今日 IP 去重 Key
+-- ARGV[1]: 访客标识，ARGV[2]: 访客 IP，ARGV[3]: 为 1 时使用 HyperLogLog 去重，否则使用 Set，ARGV[4]: 今日去重 Key 剩余有效秒数
+local useHyperLogLog = ARGV[3] == '1'
+local todayExpireSeconds = tonumber(ARGV[4])
+
+local function add(key, value)
+    if not useHyperLogLog then
+        return redis.call('SADD', key, value)
+    end
+    -- PFADD 只表示内部寄存器是否变化，增量取写入前后基数估算值之差
+    local before = redis.call('PFCOUNT', key)
+    if redis.call('PFADD', key, value) == 0 then
+        return 0
+    end
+    local delta = redis.call('PFCOUNT', key) - before
+    if delta < 0 then
+        return 0
+    end
+    return delta
+end
+
+local function addToday(key, value)
+    local addResult = add(key, value)
+    -- 今日去重 Key 新增成员时刷新有效期至今日结束
+    if addResult > 0 and todayExpireSeconds > 0 then
+        redis.call('EXPIRE', key, todayExpireSeconds)
+    end
+    return addResult
+end
+
+local uvCnt = add(KEYS[1], ARGV[1])
+local todayUvCnt = addToday(KEYS[2], ARGV[1])
+local uipCnt = add(KEYS[3], ARGV[2])
+local todayUipCnt = addToday(KEYS[4], ARGV[2])
+return { uvCnt, todayUvCnt, uipCnt, todayUipCnt }
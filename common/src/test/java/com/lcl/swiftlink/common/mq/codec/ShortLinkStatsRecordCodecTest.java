@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.mq.codec;
+
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.toolkit.VisitorIdUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 短链接统计消息编解码单元测试，覆盖紧凑编码与文本编码往返、旧版本兼容及不支持版本拒绝
+ */
+class ShortLinkStatsRecordCodecTest {
+
+    @Test
+    void compactRoundTrip() {
+        ShortLinkStatsRecordDTO statsRecord = fullRecord(VisitorIdUtil.generate(), "192.168.1.10");
+        Map<String, String> message = ShortLinkStatsRecordCodec.encode(statsRecord, true);
+        assertEquals(ShortLinkStatsRecordCodec.COMPACT_VERSION, message.get(ShortLinkStatsRecordCodec.VERSION_FIELD));
+        assertFalse(message.containsKey(ShortLinkStatsRecordCodec.JSON_FIELD));
+        assertEquals(statsRecord, ShortLinkStatsRecordCodec.decode(message));
+    }
+
+    @Test
+    void compactRoundTripKeepsLegacyVisitorAndIpv6() {
+        ShortLinkStatsRecordDTO statsRecord = fullRecord(UUID.randomUUID().toString(), "2001:db8:0:0:0:0:0:1");
+        assertEquals(statsRecord, ShortLinkStatsRecordCodec.decode(ShortLinkStatsRecordCodec.encode(statsRecord, true)));
+    }
+
+    @Test
+    void compactRoundTripKeepsValuesOutsideDictionaries() {
+        ShortLinkStatsRecordDTO statsRecord = fullRecord("not-a-visitor-id", "::1");
+        statsRecord.setOs("HarmonyOS");
+        statsRecord.setBrowser("Samsung Internet");
+        assertEquals(statsRecord, ShortLinkStatsRecordCodec.decode(ShortLinkStatsRecordCodec.encode(statsRecord, true)));
+    }
+
+    @Test
+    void compactRoundTripKeepsNulls() {
+        ShortLinkStatsRecordDTO statsRecord = ShortLinkStatsRecordDTO.builder().fullShortUrl("nurl.ink/abc").build();
+        ShortLinkStatsRecordDTO decoded = ShortLinkStatsRecordCodec.decode(ShortLinkStatsRecordCodec.encode(statsRecord, true));
+        assertEquals(statsRecord, decoded);
+        assertNull(decoded.getCurrentDate());
+        assertNull(decoded.getUvFirstFlag());
+    }
+
+    @Test
+    void jsonRoundTrip() {
+        ShortLinkStatsRecordDTO statsRecord = fullRecord(VisitorIdUtil.generate(), "10.0.0.1");
+        Map<String, String> message = ShortLinkStatsRecordCodec.encode(statsRecord, false);
+        assertFalse(message.containsKey(ShortLinkStatsRecordCodec.VERSION_FIELD));
+        assertEquals(statsRecord, ShortLinkStatsRecordCodec.decode(message));
+    }
+
+    @Test
+    void decodePreviousVersionWithoutStatsLevel() {
+        ShortLinkStatsRecordDTO statsRecord = fullRecord(VisitorIdUtil.generate(), "10.0.0.1");
+        statsRecord.setStatsLevel(null);
+        byte[] payload = Base64.getDecoder().decode(ShortLinkStatsRecordCodec.encode(statsRecord, true).get(ShortLinkStatsRecordCodec.PAYLOAD_FIELD));
+        // 版本 2 末尾没有统计级别字段，空值统计级别在版本 3 中只占 1 字节
+        byte[] previousPayload = Arrays.copyOf(payload, payload.length - 1);
+        Map<String, String> message = Map.of(
+                ShortLinkStatsRecordCodec.VERSION_FIELD, "2",
+                ShortLinkStatsRecordCodec.PAYLOAD_FIELD, Base64.getEncoder().encodeToString(previousPayload)
+        );
+        assertEquals(statsRecord, ShortLinkStatsRecordCodec.decode(message));
+    }
+
+    @Test
+    void rejectUnsupportedVersion() {
+        Map<String, String> message = Map.of(
+                ShortLinkStatsRecordCodec.VERSION_FIELD, "99",
+                ShortLinkStatsRecordCodec.PAYLOAD_FIELD, ""
+        );
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> ShortLinkStatsRecordCodec.decode(message));
+        assertTrue(ex.getMessage().contains("99"));
+    }
+
+    private ShortLinkStatsRecordDTO fullRecord(String uv, String remoteAddr) {
+        return ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl("nurl.ink/1a2b3c")
+                .remoteAddr(remoteAddr)
+                .os("Android")
+                .browser("Google Chrome")
+                .device("Mobile")
+                .network("WIFI")
+                .uv(uv)
+                .uvFirstFlag(Boolean.TRUE)
+                .uipFirstFlag(Boolean.FALSE)
+                .todayUvFirstFlag(Boolean.TRUE)
+                .todayUipFirstFlag(null)
+                .accessLogFlag(Boolean.TRUE)
+                .country("中国")
+                .province("浙江省")
+                .city("杭州市")
+                .adcode("330100")
+                .pv(3)
+                .uvCnt(2)
+                .uipCnt(1)
+                .todayUvCnt(2)
+                .todayUipCnt(1)
+                .statsLevel(2)
+                .keys(UUID.randomUUID().toString())
+                .currentDate(new Date(1700000000123L))
+                .build();
+    }
+}
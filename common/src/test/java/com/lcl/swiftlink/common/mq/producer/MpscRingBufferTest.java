@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.mq.producer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多生产者单消费者环形缓冲区单元测试，覆盖容量取整、写满拒绝、读空及回绕后继续写入
+ */
+class MpscRingBufferTest {
+
+    @Test
+    void capacityRoundsUpToPowerOfTwo() {
+        assertEquals(2, new MpscRingBuffer<Integer>(0).capacity());
+        assertEquals(2, new MpscRingBuffer<Integer>(2).capacity());
+        assertEquals(4, new MpscRingBuffer<Integer>(3).capacity());
+        assertEquals(1024, new MpscRingBuffer<Integer>(1000).capacity());
+    }
+
+    @Test
+    void offerFailsWhenFull() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertFalse(ringBuffer.offer(4));
+        assertEquals(4, ringBuffer.size());
+    }
+
+    @Test
+    void drainEmptyReturnsNothing() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(4);
+        List<Integer> target = new ArrayList<>();
+        assertEquals(0, ringBuffer.drainTo(target, 4));
+        assertTrue(target.isEmpty());
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @Test
+    void drainRespectsMaxElementsAndOrder() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            ringBuffer.offer(i);
+        }
+        List<Integer> target = new ArrayList<>();
+        assertEquals(3, ringBuffer.drainTo(target, 3));
+        assertEquals(List.of(0, 1, 2), target);
+        assertEquals(1, ringBuffer.size());
+    }
+
+    @Test
+    void slotsAreReusedAfterDrain() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(2);
+        List<Integer> target = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            assertTrue(ringBuffer.offer(round * 2));
+            assertTrue(ringBuffer.offer(round * 2 + 1));
+            assertFalse(ringBuffer.offer(-1));
+            assertEquals(2, ringBuffer.drainTo(target, Integer.MAX_VALUE));
+            assertEquals(0, ringBuffer.size());
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), target);
+    }
+
+    @Test
+    void concurrentProducersLoseNothing() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10000;
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(1024);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < perProducer; j++) {
+                    while (!ringBuffer.offer(j)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        List<Integer> target = new ArrayList<>(producers * perProducer);
+        while (target.size() < producers * perProducer) {
+            ringBuffer.drainTo(target, 256);
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+        assertEquals(producers * perProducer, target.size());
+        assertEquals(0, ringBuffer.size());
+        assertEquals((long) producers * perProducer * (perProducer - 1) / 2, target.stream().mapToLong(Integer::longValue).sum());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.stats;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * IP 地址库生成与查询单元测试，覆盖 IPv4、IPv6 区间边界、无符号比较、乱序输入及损坏文件拒绝加载
+ */
+class IpRegionDatabaseTest {
+
+    @TempDir
+    static Path tempDir;
+
+    private static Path databasePath;
+
+    private static IpRegionDatabase database;
+
+    @BeforeAll
+    static void build() throws IOException {
+        // 故意乱序写入，由生成工具排序；高位为 1 的区间用于校验无符号比较
+        Path csv = tempDir.resolve("ip-region.csv");
+        Files.write(csv, List.of(
+                "# 起始IP,结束IP,国家,省份,城市,城市编码",
+                "128.0.0.0,255.255.255.255,美国,,,",
+                "1.0.0.0,1.0.0.255,中国,浙江省,杭州市,330100",
+                "0.0.0.0,0.255.255.255,保留地址,,,",
+                "",
+                "8000::,ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff,保留地址,,,",
+                "2001:db8::,2001:db8::ffff,中国,北京市,北京市,110000",
+                "2001:db9::8000:0:0:0,2001:db9::ffff:ffff:ffff:ffff,中国,上海市,上海市,310000"
+        ), StandardCharsets.UTF_8);
+        databasePath = tempDir.resolve("ip-region.db");
+        IpRegionDatabaseBuilder.build(csv, databasePath);
+        database = IpRegionDatabase.open(databasePath);
+    }
+
+    @Test
+    void ipv4RangeBoundaries() {
+        assertEquals("杭州市", database.search("1.0.0.0").getCity());
+        assertEquals("杭州市", database.search("1.0.0.255").getCity());
+        assertEquals("330100", database.search("1.0.0.128").getAdcode());
+        assertEquals("保留地址", database.search("0.0.0.0").getCountry());
+        assertEquals("保留地址", database.search("0.255.255.255").getCountry());
+        assertNull(database.search("1.0.1.0"));
+        assertNull(database.search("127.255.255.255"));
+    }
+
+    @Test
+    void ipv4HighRangeUsesUnsignedComparison() {
+        IpRegion ipRegion = database.search("128.0.0.0");
+        assertEquals("美国", ipRegion.getCountry());
+        assertEquals("未知", ipRegion.getProvince());
+        assertEquals("美国", database.search("255.255.255.255").getCountry());
+    }
+
+    @Test
+    void ipv6RangeBoundaries() {
+        assertEquals("北京市", database.search("2001:db8::").getCity());
+        assertEquals("北京市", database.search("2001:db8::ffff").getCity());
+        assertNull(database.search("2001:db8::1:0"));
+        assertNull(database.search("2001:db7:ffff:ffff:ffff:ffff:ffff:ffff"));
+    }
+
+    @Test
+    void ipv6RangeUsesUnsignedComparison() {
+        assertEquals("上海市", database.search("2001:db9::8000:0:0:0").getCity());
+        assertEquals("上海市", database.search("2001:db9::ffff:ffff:ffff:ffff").getCity());
+        assertNull(database.search("2001:db9::7fff:ffff:ffff:ffff"));
+        assertEquals("保留地址", database.search("8000::").getCountry());
+        assertEquals("保留地址", database.search("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff").getCountry());
+        assertNull(database.search("7fff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"));
+    }
+
+    @Test
+    void searchNormalizesAddresses() {
+        assertEquals("杭州市", database.search("::ffff:1.0.0.1").getCity());
+        assertEquals("杭州市", database.search(" 1.0.0.1, 10.0.0.1").getCity());
+    }
+
+    @Test
+    void searchRejectsInvalidAddresses() {
+        assertNull(database.search(null));
+        assertNull(database.search("localhost"));
+        assertNull(database.search("1.0.0"));
+        assertNull(database.search("1.0.0.256"));
+        assertNull(database.search("1..0.1"));
+        assertNull(database.search("2001:db8::g"));
+    }
+
+    @Test
+    void builderRejectsMalformedLines() throws IOException {
+        Path target = tempDir.resolve("malformed.db");
+        Path mixed = tempDir.resolve("mixed.csv");
+        Files.write(mixed, List.of("1.0.0.0,2001:db8::,中国,,,"), StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> IpRegionDatabaseBuilder.build(mixed, target));
+        Path missingFields = tempDir.resolve("missing-fields.csv");
+        Files.write(missingFields, List.of("1.0.0.0,1.0.0.255,中国"), StandardCharsets.UTF_8);
+        assertThrows(IllegalArgumentException.class, () -> IpRegionDatabaseBuilder.build(missingFields, target));
+    }
+
+    @Test
+    void openRejectsTruncatedOrForeignFiles() throws IOException {
+        byte[] bytes = Files.readAllBytes(databasePath);
+        Path truncated = tempDir.resolve("truncated.db");
+        Files.write(truncated, Arrays.copyOf(bytes, IpRegionDatabase.HEADER_SIZE + IpRegionDatabase.IPV4_RECORD_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> IpRegionDatabase.open(truncated));
+        Path foreign = tempDir.resolve("foreign.db");
+        Files.write(foreign, "not an ip region database".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> IpRegionDatabase.open(foreign));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.toolkit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * User-Agent 分类器单元测试，按常见 User-Agent 对照表校验操作系统、浏览器与设备，判断优先级与原有逐个关键字匹配一致
+ */
+class UserAgentClassifierTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 Edg/120.0.0.0 | Windows | Microsoft Edge | PC",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 | Windows | Google Chrome | PC",
+            "Mozilla/5.0 (Windows NT 10.0; WOW64; Trident/7.0; rv:11.0) like Gecko | Windows | Internet Explorer | PC",
+            "Mozilla/4.0 (compatible; MSIE 8.0; Windows NT 6.1) | Windows | Internet Explorer | PC",
+            "Opera/9.80 (Windows NT 6.1; WOW64) Presto/2.12.388 Version/12.18 | Windows | Opera | PC",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:121.0) Gecko/20100101 Firefox/121.0 | Mac OS | Mozilla Firefox | PC",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Safari/605.1.15 | Mac OS | Apple Safari | PC",
+            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:121.0) Gecko/20100101 Firefox/121.0 | Linux | Mozilla Firefox | PC",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1 | Mac OS | Apple Safari | Mobile",
+            "Mozilla/5.0 (Linux; Android 13; Pixel 7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Mobile Safari/537.36 | Linux | Google Chrome | Mobile",
+            "Dalvik/2.1.0 (Android 13; Pixel 7) | Android | Unknown | PC",
+            "Mozilla/5.0 (iPad; CPU OS 12_0) Mobile Safari | iOS | Apple Safari | Mobile",
+            "WINDOWS NT; CHROME | Windows | Google Chrome | PC",
+            "curl/8.4.0 | Unknown | Unknown | PC"
+    })
+    void classifyKnownUserAgents(String userAgent, String os, String browser, String device) {
+        UserAgentInfo userAgentInfo = UserAgentClassifier.doClassify(userAgent);
+        assertEquals(os, userAgentInfo.getOs());
+        assertEquals(browser, userAgentInfo.getBrowser());
+        assertEquals(device, userAgentInfo.getDevice());
+    }
+
+    @Test
+    void nonAsciiCharacterBreaksKeyword() {
+        assertEquals("Unknown", UserAgentClassifier.doClassify("Win中dows").getOs());
+    }
+
+    @Test
+    void blankUserAgentIsUnknown() {
+        for (String each : new String[]{null, ""}) {
+            UserAgentInfo userAgentInfo = UserAgentClassifier.classify(each);
+            assertEquals("Unknown", userAgentInfo.getOs());
+            assertEquals("Unknown", userAgentInfo.getBrowser());
+            assertEquals("PC", userAgentInfo.getDevice());
+        }
+    }
+
+    @Test
+    void classifyReturnsCachedResult() {
+        String userAgent = "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Safari/537.36";
+        assertSame(UserAgentClassifier.classify(userAgent), UserAgentClassifier.classify(userAgent));
+    }
+}
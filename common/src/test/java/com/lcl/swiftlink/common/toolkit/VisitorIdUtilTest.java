@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.common.toolkit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 访客标识工具类单元测试，覆盖定长格式生成、历史 UUID 兼容及非法取值识别
+ */
+class VisitorIdUtilTest {
+
+    @Test
+    void generateFixedLengthUrlSafeIds() {
+        Set<String> visitorIds = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String visitorId = VisitorIdUtil.generate();
+            assertEquals(VisitorIdUtil.VISITOR_ID_LENGTH, visitorId.length());
+            assertTrue(visitorId.matches("[A-Za-z0-9_-]+"));
+            visitorIds.add(visitorId);
+        }
+        assertEquals(1000, visitorIds.size());
+    }
+
+    @Test
+    void bitsRoundTrip() {
+        String visitorId = VisitorIdUtil.fromBits(0x0123456789ABCDEFL, -1L);
+        assertArrayEquals(new long[]{0x0123456789ABCDEFL, -1L}, VisitorIdUtil.toBits(visitorId));
+        assertEquals(visitorId, VisitorIdUtil.normalize(visitorId));
+    }
+
+    @Test
+    void normalizeLegacyUuid() {
+        UUID uuid = UUID.randomUUID();
+        String visitorId = VisitorIdUtil.normalize(uuid.toString());
+        assertEquals(VisitorIdUtil.VISITOR_ID_LENGTH, visitorId.length());
+        assertArrayEquals(new long[]{uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()}, VisitorIdUtil.toBits(visitorId));
+    }
+
+    @Test
+    void rejectUnrecognizedValues() {
+        assertNull(VisitorIdUtil.normalize(null));
+        assertNull(VisitorIdUtil.normalize(""));
+        assertNull(VisitorIdUtil.normalize("abc"));
+        assertNull(VisitorIdUtil.normalize("!!!!!!!!!!!!!!!!!!!!!!"));
+        assertNull(VisitorIdUtil.normalize("zzzzzzzz-zzzz-zzzz-zzzz-zzzzzzzzzzzz"));
+    }
+}
@@ -27,7 +27,7 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
  * 短链接应用
  */
 
-@SpringBootApplication
+@SpringBootApplication(scanBasePackages = {"com.lcl.swiftlink.project", "com.lcl.swiftlink.common"})
 @EnableDiscoveryClient
 @MapperScan("com.lcl.swiftlink.project.dao.mapper")
 @EnableAspectJAutoProxy(exposeProxy = true)
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.lcl.swiftlink.project.config.GotoBloomFilterReplicaConfiguration;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkGotoDO;
+import com.lcl.swiftlink.project.dao.mapper.ShortLinkGotoMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_BLOOM_FILTER_REPLICA_ADD_SEQUENCE_KEY;
+
+/**
+ * 短链接跳转布隆过滤器本地副本
+ * 追加广播订阅完成后才根据跳转表加载快照，之后通过广播增量追加
+ * 每条追加广播携带全局递增序号，定期比对 Redis 中的最新序号，发现广播丢失时才根据跳转表全量重建
+ * 本地副本加载完成后作为跳转前的存在性判断，判断不存在时直接返回，不再访问 Redis
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoBloomFilterReplica implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private final GotoBloomFilterReplicaConfiguration gotoBloomFilterReplicaConfiguration;
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private volatile BloomFilter<String> localBloomFilter;
+
+    /**
+     * 正在重建的副本，重建期间收到的增量同时写入，避免切换后丢失
+     */
+    private volatile BloomFilter<String> rebuildingBloomFilter;
+
+    private volatile boolean loaded;
+
+    /**
+     * 已连续收到的最大追加序号，小于等于该序号的广播均已写入副本
+     */
+    private long contiguousSequence;
+
+    /**
+     * 乱序先到达、尚未与已连续序号衔接的追加序号
+     */
+    private final TreeSet<Long> pendingSequences = new TreeSet<>();
+
+    /**
+     * 上一次检查时 Redis 中的最新追加序号，经过一个检查间隔仍未连续收到则判定广播丢失
+     */
+    private long lastCheckedSequence;
+
+    private final Object sequenceLock = new Object();
+
+    private ScheduledExecutorService resyncExecutor;
+
+    /**
+     * 应用启动完成时广播监听容器已完成订阅，此时加载快照不会遗漏加载期间的增量
+     */
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!isEnable() || resyncExecutor != null) {
+            return;
+        }
+        resyncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("short-link_goto_bloom_filter_replica_resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        resyncExecutor.execute(this::resync);
+        long gapCheckInterval = gotoBloomFilterReplicaConfiguration.getGapCheckInterval();
+        resyncExecutor.scheduleWithFixedDelay(this::checkSequenceGap, gapCheckInterval, gapCheckInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 比对 Redis 中的最新追加序号，上一次检查前已发出的广播仍未全部收到，或序号被重置时全量重建
+     */
+    private void checkSequenceGap() {
+        try {
+            long currentSequence = currentSequence();
+            long receivedSequence;
+            boolean lost;
+            synchronized (sequenceLock) {
+                receivedSequence = contiguousSequence;
+                lost = receivedSequence < lastCheckedSequence || currentSequence < receivedSequence;
+                lastCheckedSequence = currentSequence;
+            }
+            if (!loaded) {
+                resync();
+            } else if (lost) {
+                log.warn("短链接跳转布隆过滤器本地副本追加广播丢失，已连续收到序号 {}，最新序号 {}，开始全量重建", receivedSequence, currentSequence);
+                resync();
+            }
+        } catch (Throwable ex) {
+            log.error("短链接跳转布隆过滤器本地副本追加序号检查失败", ex);
+        }
+    }
+
+    /**
+     * 根据跳转表全量重建本地副本，重建完成后整体替换
+     */
+    private void resync() {
+        try {
+            BloomFilter<String> bloomFilter = BloomFilter.create(
+                    Funnels.stringFunnel(StandardCharsets.UTF_8),
+                    gotoBloomFilterReplicaConfiguration.getExpectedInsertions(),
+                    gotoBloomFilterReplicaConfiguration.getFalseProbability()
+            );
+            // 先对增量可见并记录序号基线再读取快照，基线之后的广播均会写入新副本并参与丢失检测
+            rebuildingBloomFilter = bloomFilter;
+            long baselineSequence = currentSequence();
+            synchronized (sequenceLock) {
+                contiguousSequence = baselineSequence;
+                lastCheckedSequence = baselineSequence;
+                pendingSequences.clear();
+            }
+            long loadCount = 0L;
+            long lastId = 0L;
+            while (true) {
+                LambdaQueryWrapper<ShortLinkGotoDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                        .select(ShortLinkGotoDO::getId, ShortLinkGotoDO::getFullShortUrl)
+                        .gt(ShortLinkGotoDO::getId, lastId)
+                        .orderByAsc(ShortLinkGotoDO::getId)
+                        .last("LIMIT " + gotoBloomFilterReplicaConfiguration.getLoadBatchSize());
+                List<ShortLinkGotoDO> shortLinkGotoDOList = shortLinkGotoMapper.selectList(queryWrapper);
+                if (shortLinkGotoDOList.isEmpty()) {
+                    break;
+                }
+                shortLinkGotoDOList.forEach(each -> bloomFilter.put(each.getFullShortUrl()));
+                loadCount += shortLinkGotoDOList.size();
+                lastId = shortLinkGotoDOList.get(shortLinkGotoDOList.size() - 1).getId();
+            }
+            localBloomFilter = bloomFilter;
+            loaded = true;
+            log.info("短链接跳转布隆过滤器本地副本加载完成，共加载 {} 条，追加序号基线 {}", loadCount, baselineSequence);
+        } catch (Throwable ex) {
+            log.error("短链接跳转布隆过滤器本地副本加载失败，继续使用当前副本", ex);
+        } finally {
+            rebuildingBloomFilter = null;
+        }
+    }
+
+    private long currentSequence() {
+        String sequence = stringRedisTemplate.opsForValue().get(GOTO_BLOOM_FILTER_REPLICA_ADD_SEQUENCE_KEY);
+        return sequence == null ? 0L : Long.parseLong(sequence);
+    }
+
+    /**
+     * 判断短链接是否可能存在
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 本地副本加载完成后返回本地判断结果，否则查询 Redis 布隆过滤器
+     */
+    public boolean contains(String fullShortUrl) {
+        if (isEnable() && loaded) {
+            return localBloomFilter.mightContain(fullShortUrl);
+        }
+        return shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl);
+    }
+
+    /**
+     * 本地副本追加短链接
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void add(String fullShortUrl) {
+        BloomFilter<String> bloomFilter = localBloomFilter;
+        if (bloomFilter != null) {
+            bloomFilter.put(fullShortUrl);
+        }
+        BloomFilter<String> rebuilding = rebuildingBloomFilter;
+        if (rebuilding != null) {
+            rebuilding.put(fullShortUrl);
+        }
+    }
+
+    /**
+     * 本地副本追加广播中的短链接并记录追加序号
+     *
+     * @param sequence     追加序号
+     * @param fullShortUrl 完整短链接
+     */
+    public void add(long sequence, String fullShortUrl) {
+        add(fullShortUrl);
+        synchronized (sequenceLock) {
+            if (sequence <= contiguousSequence) {
+                return;
+            }
+            pendingSequences.add(sequence);
+            while (!pendingSequences.isEmpty() && pendingSequences.first() == contiguousSequence + 1) {
+                contiguousSequence = pendingSequences.pollFirst();
+            }
+        }
+    }
+
+    /**
+     * 本地副本是否已开启并加载完成
+     */
+    public boolean isLoaded() {
+        return isEnable() && loaded;
+    }
+
+    private boolean isEnable() {
+        return Objects.equals(gotoBloomFilterReplicaConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (resyncExecutor != null) {
+            resyncExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.lcl.swiftlink.common.cache.ShortLinkGotoCacheValue;
+import com.lcl.swiftlink.common.enums.GotoCacheLookupStatusEnum;
+import com.lcl.swiftlink.project.config.GotoCacheRebuildConfiguration;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkGotoDO;
+import com.lcl.swiftlink.project.dao.mapper.ShortLinkGotoMapper;
+import com.lcl.swiftlink.project.dao.mapper.ShortLinkMapper;
+import com.lcl.swiftlink.project.mq.producer.ShortLinkGotoCacheInvalidateProducer;
+import com.lcl.swiftlink.project.toolkit.LinkUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_SOFT_EXPIRE_KEY;
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.LOCK_GOTO_SHORT_LINK_KEY;
+
+/**
+ * 短链接跳转缓存加载器
+ * 负责从数据库回源、写入跳转缓存以及软过期后的后台刷新
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoCacheLoader {
+
+    private final ShortLinkMapper shortLinkMapper;
+    private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedissonClient redissonClient;
+    private final GotoCacheRebuildConfiguration gotoCacheRebuildConfiguration;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final ShortLinkGotoCacheLookup shortLinkGotoCacheLookup;
+    private final ShortLinkGotoCacheRefresher shortLinkGotoCacheRefresher;
+    private final ShortLinkGotoRebuildSingleFlight shortLinkGotoRebuildSingleFlight;
+    private final ShortLinkGotoCacheInvalidateProducer shortLinkGotoCacheInvalidateProducer;
+
+    /**
+     * 重建短链接跳转缓存，同一节点内由 {@link ShortLinkGotoRebuildSingleFlight} 保证相同短链接只有一个线程进入
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存值，短链接不存在或已过期返回 null
+     */
+    @SneakyThrows
+    public String rebuild(String fullShortUrl) {
+        RLock lock = redissonClient.getLock(String.format(LOCK_GOTO_SHORT_LINK_KEY, fullShortUrl));
+        long lockWaitStartTime = System.nanoTime();
+        boolean locked = lock.tryLock(gotoCacheRebuildConfiguration.getLockWaitTime(), gotoCacheRebuildConfiguration.getLockLeaseTime(), TimeUnit.MILLISECONDS);
+        shortLinkGotoRebuildSingleFlight.recordLockWait(System.nanoTime() - lockWaitStartTime, locked);
+        // 等待分布式锁超时说明其它节点重建耗时过长，降级为当前节点直接重建，不再阻塞请求线程
+        try {
+            ShortLinkGotoCacheLookupResult lookupResult = shortLinkGotoCacheLookup.lookupWithoutBloomFilter(fullShortUrl);
+            if (lookupResult.getStatus() == GotoCacheLookupStatusEnum.HIT) {
+                shortLinkGotoLocalCache.put(fullShortUrl, lookupResult.getCacheValue(), lookupResult.getExpireDate());
+                return lookupResult.getCacheValue();
+            }
+            if (lookupResult.getStatus() == GotoCacheLookupStatusEnum.NOT_FOUND) {
+                return null;
+            }
+            return load(fullShortUrl);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 后台刷新已软过期的短链接跳转缓存，其它节点正在刷新时直接跳过
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    @SneakyThrows
+    public void refresh(String fullShortUrl) {
+        RLock lock = redissonClient.getLock(String.format(LOCK_GOTO_SHORT_LINK_KEY, fullShortUrl));
+        if (!lock.tryLock(0, gotoCacheRebuildConfiguration.getLockLeaseTime(), TimeUnit.MILLISECONDS)) {
+            return;
+        }
+        try {
+            if (load(fullShortUrl) == null) {
+                // 短链接已失效，删除旧的跳转缓存，避免继续返回过期数据
+                stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
+                shortLinkGotoCacheInvalidateProducer.send(fullShortUrl);
+            }
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 从数据库加载短链接并写入跳转缓存，不存在时写入空值缓存
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存值，短链接不存在或已过期返回 null
+     */
+    public String load(String fullShortUrl) {
+        LambdaQueryWrapper<ShortLinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
+        ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(linkGotoQueryWrapper);
+        if (shortLinkGotoDO == null) {
+            stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
+            return null;
+        }
+        // 跳转表冗余字段全部写入后直接判断，历史数据未回填完整前仍查询短链接表，有效期为空表示永久有效
+        if (shortLinkGotoDO.getOriginUrl() != null
+                && shortLinkGotoDO.getEnableStatus() != null
+                && shortLinkGotoDO.getDelFlag() != null) {
+            if (!Objects.equals(shortLinkGotoDO.getDelFlag(), 0)
+                    || !Objects.equals(shortLinkGotoDO.getEnableStatus(), 0)
+                    || (shortLinkGotoDO.getValidDate() != null && shortLinkGotoDO.getValidDate().before(new Date()))) {
+                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
+                return null;
+            }
+            String cacheValue = ShortLinkGotoCacheValue.encode(shortLinkGotoDO.getOriginUrl(), shortLinkGotoDO.getStatsLevel());
+            put(stringRedisTemplate, fullShortUrl, cacheValue, shortLinkGotoDO.getValidDate());
+            shortLinkGotoLocalCache.put(fullShortUrl, cacheValue, shortLinkGotoDO.getValidDate());
+            return cacheValue;
+        }
+        LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                .eq(ShortLinkDO::getGid, shortLinkGotoDO.getGid())
+                .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
+                .eq(ShortLinkDO::getDelFlag, 0)
+                .eq(ShortLinkDO::getEnableStatus, 0);
+        ShortLinkDO shortLinkDO = shortLinkMapper.selectOne(queryWrapper);
+        if (shortLinkDO == null || (shortLinkDO.getValidDate() != null && shortLinkDO.getValidDate().before(new Date()))) {
+            stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
+            return null;
+        }
+        String cacheValue = ShortLinkGotoCacheValue.encode(shortLinkDO.getOriginUrl(), shortLinkDO.getStatsLevel());
+        put(stringRedisTemplate, fullShortUrl, cacheValue, shortLinkDO.getValidDate());
+        shortLinkGotoLocalCache.put(fullShortUrl, cacheValue, shortLinkDO.getValidDate());
+        return cacheValue;
+    }
+
+    /**
+     * 写入短链接跳转缓存，开启后台刷新时永久有效期短链接同时写入软过期时间
+     *
+     * @param fullShortUrl 完整短链接
+     * @param originUrl    原始链接
+     * @param validDate    有效期
+     * @param statsLevel   统计级别
+     */
+    public void put(String fullShortUrl, String originUrl, Date validDate, Integer statsLevel) {
+        put(stringRedisTemplate, fullShortUrl, ShortLinkGotoCacheValue.encode(originUrl, statsLevel), validDate);
+    }
+
+    /**
+     * 批量写入短链接跳转缓存及本地缓存，Redis 写入通过管道一次提交
+     *
+     * @param shortLinkGotoDOList 包含完整短链接、原始链接、有效期及统计级别的跳转记录
+     */
+    @SuppressWarnings("unchecked")
+    public void putAll(List<ShortLinkGotoDO> shortLinkGotoDOList) {
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+                shortLinkGotoDOList.forEach(each -> put(stringOperations, each.getFullShortUrl(), cacheValue(each), each.getValidDate()));
+                return null;
+            }
+        });
+        shortLinkGotoDOList.forEach(each -> shortLinkGotoLocalCache.put(each.getFullShortUrl(), cacheValue(each), each.getValidDate()));
+    }
+
+    private String cacheValue(ShortLinkGotoDO shortLinkGotoDO) {
+        return ShortLinkGotoCacheValue.encode(shortLinkGotoDO.getOriginUrl(), shortLinkGotoDO.getStatsLevel());
+    }
+
+    private void put(RedisOperations<String, String> operations, String fullShortUrl, String cacheValue, Date validDate) {
+        long cacheValidTime = LinkUtil.getLinkCacheValidTime(validDate);
+        operations.opsForValue().set(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl), cacheValue, cacheValidTime, TimeUnit.MILLISECONDS);
+        // 自定义有效期短链接到期即失效，不允许返回过期数据
+        if (shortLinkGotoCacheRefresher.isEnable() && validDate == null) {
+            operations.opsForValue().set(
+                    String.format(GOTO_SHORT_LINK_SOFT_EXPIRE_KEY, fullShortUrl),
+                    String.valueOf(shortLinkGotoCacheRefresher.getSoftExpireTime(cacheValidTime)),
+                    cacheValidTime, TimeUnit.MILLISECONDS
+            );
+        }
+    }
+}
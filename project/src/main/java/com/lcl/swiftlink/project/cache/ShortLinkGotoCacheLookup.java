@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import com.lcl.swiftlink.common.enums.GotoCacheLookupStatusEnum;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RBloomFilter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_SOFT_EXPIRE_KEY;
+
+/**
+ * 短链接跳转缓存查询
+ * 通过一段预加载的 Lua 脚本一次往返完成跳转缓存与空值缓存的判断，命中时一并返回软过期时间
+ * 布隆过滤器只在缓存未命中、需要回源时判断，优先使用本地副本，未加载时查询 Redis 布隆过滤器
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoCacheLookup implements InitializingBean {
+
+    private static final String GOTO_CACHE_LOOKUP_LUA_SCRIPT_PATH = "lua/goto_cache_lookup.lua";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
+    private final ShortLinkGotoBloomFilterReplica shortLinkGotoBloomFilterReplica;
+
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> gotoCacheLookupScript;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        // 脚本只构建一次，执行时优先使用 EVALSHA，Redis 中脚本不存在时自动回退 EVAL
+        gotoCacheLookupScript = new DefaultRedisScript<>();
+        gotoCacheLookupScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(GOTO_CACHE_LOOKUP_LUA_SCRIPT_PATH)));
+        gotoCacheLookupScript.setResultType(List.class);
+    }
+
+    /**
+     * 查询短链接跳转缓存
+     * 布隆过滤器本地副本加载完成后在内存中判断是否存在，不存在直接返回，存在时只查询跳转缓存与空值缓存
+     * 本地副本未开启或未加载完成时，缓存未命中后再查询 Redis 布隆过滤器确认是否需要回源
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存查询结果
+     */
+    public ShortLinkGotoCacheLookupResult lookup(String fullShortUrl) {
+        if (shortLinkGotoBloomFilterReplica.isLoaded()) {
+            if (!shortLinkGotoBloomFilterReplica.contains(fullShortUrl)) {
+                return new ShortLinkGotoCacheLookupResult(GotoCacheLookupStatusEnum.NOT_FOUND, null, null, null);
+            }
+            return execute(fullShortUrl);
+        }
+        ShortLinkGotoCacheLookupResult lookupResult = execute(fullShortUrl);
+        if (lookupResult.getStatus() == GotoCacheLookupStatusEnum.REBUILD && !shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl)) {
+            return new ShortLinkGotoCacheLookupResult(GotoCacheLookupStatusEnum.NOT_FOUND, null, null, null);
+        }
+        return lookupResult;
+    }
+
+    /**
+     * 仅查询跳转缓存与空值缓存，用于获取分布式锁后的二次校验
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存查询结果
+     */
+    public ShortLinkGotoCacheLookupResult lookupWithoutBloomFilter(String fullShortUrl) {
+        return execute(fullShortUrl);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ShortLinkGotoCacheLookupResult execute(String fullShortUrl) {
+        List<String> keys = List.of(
+                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+                String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl),
+                String.format(GOTO_SHORT_LINK_SOFT_EXPIRE_KEY, fullShortUrl)
+        );
+        List<Object> result = stringRedisTemplate.execute(gotoCacheLookupScript, keys);
+        if (result == null || result.isEmpty()) {
+            return new ShortLinkGotoCacheLookupResult(GotoCacheLookupStatusEnum.REBUILD, null, null, null);
+        }
+        GotoCacheLookupStatusEnum status = GotoCacheLookupStatusEnum.of((Long) result.get(0));
+        String cacheValue = status == GotoCacheLookupStatusEnum.HIT ? (String) result.get(1) : null;
+        Long ttl = result.size() > 2 ? (Long) result.get(2) : null;
+        Long softExpireTime = result.size() > 3 ? Long.valueOf((String) result.get(3)) : null;
+        return new ShortLinkGotoCacheLookupResult(status, cacheValue, ttl, softExpireTime);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import com.lcl.swiftlink.common.enums.GotoCacheLookupStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 短链接跳转缓存查询结果
+ */
+@Getter
+@AllArgsConstructor
+public class ShortLinkGotoCacheLookupResult {
+
+    /**
+     * 查询结果状态
+     */
+    private final GotoCacheLookupStatusEnum status;
+
+    /**
+     * 跳转缓存值，包含原始链接及统计级别，仅命中时有值
+     */
+    private final String cacheValue;
+
+    /**
+     * 跳转缓存剩余有效毫秒数，仅命中时有值，永久有效时为负数
+     */
+    private final Long ttl;
+
+    /**
+     * 跳转缓存软过期时间戳，未开启后台刷新时为空
+     */
+    private final Long softExpireTime;
+
+    /**
+     * 命中的跳转缓存是否已软过期
+     */
+    public boolean isStale() {
+        return softExpireTime != null && softExpireTime < System.currentTimeMillis();
+    }
+
+    /**
+     * 命中的跳转缓存过期时间，跳转缓存有效期不超过短链接有效期，本地缓存以此作为过期时间上限
+     */
+    public Date getExpireDate() {
+        return ttl == null || ttl < 0L ? null : new Date(System.currentTimeMillis() + ttl);
+    }
+}
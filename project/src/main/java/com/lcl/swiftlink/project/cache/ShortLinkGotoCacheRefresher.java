@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import com.lcl.swiftlink.project.config.GotoStaleWhileRevalidateConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 短链接跳转缓存后台刷新器
+ * 缓存软过期后仍返回旧值，由后台线程异步回源刷新，同一节点内相同短链接同时只提交一次刷新任务
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoCacheRefresher implements InitializingBean, DisposableBean {
+
+    private final GotoStaleWhileRevalidateConfiguration gotoStaleWhileRevalidateConfiguration;
+
+    private final Set<String> refreshingShortUrls = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor refreshExecutor;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!isEnable()) {
+            return;
+        }
+        AtomicInteger index = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(
+                gotoStaleWhileRevalidateConfiguration.getRefreshThreads(),
+                gotoStaleWhileRevalidateConfiguration.getRefreshThreads(),
+                60,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(gotoStaleWhileRevalidateConfiguration.getRefreshQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setName("short-link_goto_cache_refresh_" + index.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * 提交后台刷新任务
+     *
+     * @param fullShortUrl 完整短链接
+     * @param refresher    回源刷新逻辑
+     */
+    public void refresh(String fullShortUrl, Runnable refresher) {
+        if (!isEnable() || !refreshingShortUrls.add(fullShortUrl)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresher.run();
+                } catch (Throwable ex) {
+                    log.error("短链接跳转缓存后台刷新失败，短链接：{}", fullShortUrl, ex);
+                } finally {
+                    refreshingShortUrls.remove(fullShortUrl);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshingShortUrls.remove(fullShortUrl);
+        }
+    }
+
+    /**
+     * 计算缓存软过期时间
+     *
+     * @param cacheValidTime 缓存实际有效时间，单位：毫秒
+     * @return 软过期时间戳
+     */
+    public long getSoftExpireTime(long cacheValidTime) {
+        long staleWindow = TimeUnit.SECONDS.toMillis(gotoStaleWhileRevalidateConfiguration.getStaleWindow());
+        return System.currentTimeMillis() + Math.max(cacheValidTime - staleWindow, 0L);
+    }
+
+    public boolean isEnable() {
+        return Objects.equals(gotoStaleWhileRevalidateConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    @Override
+    public void destroy() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import com.lcl.swiftlink.common.enums.GotoCacheLookupStatusEnum;
+import com.lcl.swiftlink.project.config.GotoHotKeyConfiguration;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkGotoHotKeyRespDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接跳转热点 Key 探测器
+ * 基于两个轮转的 Count-Min Sketch 估算滑动窗口内的访问速率，超过阈值的 Top-K 短链接常驻本地并定时从 Redis 刷新
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoHotKeyDetector implements InitializingBean, DisposableBean {
+
+    /**
+     * 候选 Key 数量相对 Top-K 的倍数，限制候选集合内存占用
+     */
+    private static final int CANDIDATE_FACTOR = 8;
+
+    private final GotoHotKeyConfiguration gotoHotKeyConfiguration;
+    private final ShortLinkGotoCacheLookup shortLinkGotoCacheLookup;
+
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, String> pinnedHotKeys = new ConcurrentHashMap<>();
+
+    private volatile CountMinSketch currentSketch;
+
+    private volatile CountMinSketch previousSketch;
+
+    private volatile long windowStartTime;
+
+    private ScheduledExecutorService hotKeyExecutor;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!isEnable()) {
+            return;
+        }
+        currentSketch = newSketch();
+        previousSketch = newSketch();
+        windowStartTime = System.currentTimeMillis();
+        hotKeyExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("short-link_goto_hot_key_detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long refreshInterval = gotoHotKeyConfiguration.getRefreshInterval();
+        hotKeyExecutor.scheduleWithFixedDelay(this::refreshHotKeys, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录一次短链接访问
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void record(String fullShortUrl) {
+        if (!isEnable()) {
+            return;
+        }
+        long count = currentSketch.increment(fullShortUrl);
+        if (count >= gotoHotKeyConfiguration.getQpsThreshold()
+                && candidates.size() < gotoHotKeyConfiguration.getTopK() * CANDIDATE_FACTOR) {
+            candidates.add(fullShortUrl);
+        }
+    }
+
+    /**
+     * 获取常驻本地的热点短链接跳转缓存值
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存值，非热点返回 null
+     */
+    public String getPinned(String fullShortUrl) {
+        if (!isEnable()) {
+            return null;
+        }
+        return pinnedHotKeys.get(fullShortUrl);
+    }
+
+    /**
+     * 移除当前节点常驻的热点短链接，等待下一轮探测重新从 Redis 加载
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void invalidate(String fullShortUrl) {
+        pinnedHotKeys.remove(fullShortUrl);
+    }
+
+    /**
+     * 当前节点热点短链接列表，按访问速率倒序
+     */
+    public List<ShortLinkGotoHotKeyRespDTO> hotKeys() {
+        if (!isEnable()) {
+            return new ArrayList<>();
+        }
+        List<ShortLinkGotoHotKeyRespDTO> result = new ArrayList<>(candidates.size());
+        for (String each : candidates) {
+            result.add(ShortLinkGotoHotKeyRespDTO.builder()
+                    .fullShortUrl(each)
+                    .qps(estimateQps(each))
+                    .pinned(pinnedHotKeys.containsKey(each))
+                    .build());
+        }
+        result.sort(Comparator.comparing(ShortLinkGotoHotKeyRespDTO::getQps).reversed());
+        return result;
+    }
+
+    public boolean isEnable() {
+        return Objects.equals(gotoHotKeyConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    private void refreshHotKeys() {
+        try {
+            rotateWindowIfNecessary();
+            long qpsThreshold = gotoHotKeyConfiguration.getQpsThreshold();
+            List<Map.Entry<String, Double>> rates = new ArrayList<>(candidates.size());
+            for (String each : candidates) {
+                double qps = estimateQps(each);
+                if (qps >= qpsThreshold) {
+                    rates.add(Map.entry(each, qps));
+                } else if (!pinnedHotKeys.containsKey(each)) {
+                    candidates.remove(each);
+                }
+            }
+            rates.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+            Set<String> hotShortUrls = new HashSet<>();
+            for (Map.Entry<String, Double> each : rates.subList(0, Math.min(rates.size(), gotoHotKeyConfiguration.getTopK()))) {
+                hotShortUrls.add(each.getKey());
+            }
+            pinnedHotKeys.keySet().removeIf(each -> {
+                boolean cold = !hotShortUrls.contains(each);
+                if (cold) {
+                    candidates.remove(each);
+                }
+                return cold;
+            });
+            for (String each : hotShortUrls) {
+                ShortLinkGotoCacheLookupResult lookupResult = shortLinkGotoCacheLookup.lookupWithoutBloomFilter(each);
+                if (lookupResult.getStatus() == GotoCacheLookupStatusEnum.HIT) {
+                    pinnedHotKeys.put(each, lookupResult.getCacheValue());
+                } else {
+                    pinnedHotKeys.remove(each);
+                }
+            }
+        } catch (Throwable ex) {
+            log.error("短链接跳转热点 Key 刷新失败", ex);
+        }
+    }
+
+    private void rotateWindowIfNecessary() {
+        long windowMillis = TimeUnit.SECONDS.toMillis(gotoHotKeyConfiguration.getWindowSeconds());
+        long now = System.currentTimeMillis();
+        if (now - windowStartTime < windowMillis) {
+            return;
+        }
+        previousSketch = now - windowStartTime < windowMillis * 2 ? currentSketch : newSketch();
+        currentSketch = newSketch();
+        windowStartTime = now;
+    }
+
+    /**
+     * 滑动窗口访问速率：上一窗口计数按未覆盖比例折算后与当前窗口计数相加
+     */
+    private double estimateQps(String fullShortUrl) {
+        long windowMillis = TimeUnit.SECONDS.toMillis(gotoHotKeyConfiguration.getWindowSeconds());
+        double elapsedRatio = Math.min(1D, (double) (System.currentTimeMillis() - windowStartTime) / windowMillis);
+        double count = previousSketch.estimate(fullShortUrl) * (1D - elapsedRatio) + currentSketch.estimate(fullShortUrl);
+        return count / gotoHotKeyConfiguration.getWindowSeconds();
+    }
+
+    private CountMinSketch newSketch() {
+        return new CountMinSketch(gotoHotKeyConfiguration.getSketchWidth(), gotoHotKeyConfiguration.getSketchDepth());
+    }
+
+    @Override
+    public void destroy() {
+        if (hotKeyExecutor != null) {
+            hotKeyExecutor.shutdownNow();
+        }
+    }
+}
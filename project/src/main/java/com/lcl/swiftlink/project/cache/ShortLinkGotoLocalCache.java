@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.lcl.swiftlink.project.config.GotoLocalCacheConfiguration;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 短链接跳转本地缓存
+ * 位于 Redis 跳转缓存之前，热点短链接无需访问 Redis 即可完成跳转
+ * 条目在固定写入过期时间与短链接有效期两者中较早的时间失效，读取时发现已超过有效期立即删除
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoLocalCache implements InitializingBean {
+
+    private final GotoLocalCacheConfiguration gotoLocalCacheConfiguration;
+
+    private Cache<String, LocalCacheEntry> gotoCache;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        gotoCache = CacheBuilder.newBuilder()
+                .maximumSize(gotoLocalCacheConfiguration.getMaximumSize())
+                .expireAfterWrite(gotoLocalCacheConfiguration.getExpireAfterWrite(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取本地缓存的跳转缓存值
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存值，未命中或未开启本地缓存返回 null
+     */
+    public String get(String fullShortUrl) {
+        if (!isEnable()) {
+            return null;
+        }
+        LocalCacheEntry entry = gotoCache.getIfPresent(fullShortUrl);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireTime > 0L && entry.expireTime <= System.currentTimeMillis()) {
+            gotoCache.invalidate(fullShortUrl);
+            return null;
+        }
+        return entry.cacheValue;
+    }
+
+    /**
+     * 写入本地缓存
+     *
+     * @param fullShortUrl 完整短链接
+     * @param cacheValue   跳转缓存值
+     * @param validDate    短链接有效期，为空表示永久有效
+     */
+    public void put(String fullShortUrl, String cacheValue, Date validDate) {
+        if (!isEnable()) {
+            return;
+        }
+        if (validDate != null && validDate.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        gotoCache.put(fullShortUrl, new LocalCacheEntry(cacheValue, validDate == null ? 0L : validDate.getTime()));
+    }
+
+    /**
+     * 删除当前节点本地缓存
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void invalidate(String fullShortUrl) {
+        gotoCache.invalidate(fullShortUrl);
+    }
+
+    /**
+     * 本地缓存命中统计
+     */
+    public CacheStats stats() {
+        return gotoCache.stats();
+    }
+
+    /**
+     * 本地缓存当前条目数
+     */
+    public long size() {
+        return gotoCache.size();
+    }
+
+    public boolean isEnable() {
+        return Objects.equals(gotoLocalCacheConfiguration.getEnable(), Boolean.TRUE);
+    }
+
+    /**
+     * 本地缓存条目，记录跳转缓存值及短链接有效期截止时间
+     */
+    @AllArgsConstructor
+    private static class LocalCacheEntry {
+
+        private final String cacheValue;
+
+        /**
+         * 有效期截止时间戳，为 0 表示永久有效
+         */
+        private final long expireTime;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 短链接跳转缓存重建合并器
+ * 同一节点内相同短链接同时只有一个线程重建缓存，其余线程等待该线程的结果
+ */
+@Component
+public class ShortLinkGotoRebuildSingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlightRebuilds = new ConcurrentHashMap<>();
+
+    private final LongAdder leaderCount = new LongAdder();
+    private final LongAdder followerCount = new LongAdder();
+    private final LongAdder lockAcquiredCount = new LongAdder();
+    private final LongAdder lockTimeoutCount = new LongAdder();
+    private final LongAdder lockWaitTotalNanos = new LongAdder();
+    private final LongAccumulator lockWaitMaxNanos = new LongAccumulator(Long::max, 0L);
+
+    /**
+     * 执行缓存重建，相同短链接并发调用时仅执行一次
+     *
+     * @param fullShortUrl 完整短链接
+     * @param rebuilder    缓存重建逻辑，返回跳转缓存值，不存在返回 null
+     * @return 跳转缓存值
+     */
+    public String execute(String fullShortUrl, Supplier<String> rebuilder) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> inFlightFuture = inFlightRebuilds.putIfAbsent(fullShortUrl, future);
+        if (inFlightFuture != null) {
+            followerCount.increment();
+            try {
+                return inFlightFuture.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw ex;
+            }
+        }
+        leaderCount.increment();
+        try {
+            String cacheValue = rebuilder.get();
+            future.complete(cacheValue);
+            return cacheValue;
+        } catch (Throwable ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightRebuilds.remove(fullShortUrl, future);
+        }
+    }
+
+    /**
+     * 记录获取分布式锁等待耗时
+     *
+     * @param waitNanos 等待耗时，单位：纳秒
+     * @param acquired  是否获取成功
+     */
+    public void recordLockWait(long waitNanos, boolean acquired) {
+        if (acquired) {
+            lockAcquiredCount.increment();
+        } else {
+            lockTimeoutCount.increment();
+        }
+        lockWaitTotalNanos.add(waitNanos);
+        lockWaitMaxNanos.accumulate(waitNanos);
+    }
+
+    public long getLeaderCount() {
+        return leaderCount.sum();
+    }
+
+    public long getFollowerCount() {
+        return followerCount.sum();
+    }
+
+    public long getLockAcquiredCount() {
+        return lockAcquiredCount.sum();
+    }
+
+    public long getLockTimeoutCount() {
+        return lockTimeoutCount.sum();
+    }
+
+    public long getLockWaitTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lockWaitTotalNanos.sum());
+    }
+
+    public long getLockWaitMaxMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lockWaitMaxNanos.get());
+    }
+}
@@ -23,24 +23,24 @@ package com.lcl.swiftlink.project.common.constant;
 public class RedisKeyConstant {
 
     /**
-     * 短链接跳转前缀 Key
+     * 短链接跳转锁前缀 Key
      */
-    public static final String GOTO_SHORT_LINK_KEY = "short-link:goto:%s";
+    public static final String LOCK_GOTO_SHORT_LINK_KEY = "short-link:lock:goto:%s";
 
     /**
-     * 短链接空值跳转前缀 Key
+     * 短链接跳转本地缓存失效广播 Channel
      */
-    public static final String GOTO_IS_NULL_SHORT_LINK_KEY = "short-link:is-null:goto_%s";
+    public static final String GOTO_LOCAL_CACHE_INVALIDATE_CHANNEL = "short-link:channel:goto-local-cache-invalidate";
 
     /**
-     * 短链接跳转锁前缀 Key
+     * 短链接跳转布隆过滤器本地副本追加广播 Channel
      */
-    public static final String LOCK_GOTO_SHORT_LINK_KEY = "short-link:lock:goto:%s";
+    public static final String GOTO_BLOOM_FILTER_REPLICA_ADD_CHANNEL = "short-link:channel:goto-bloom-filter-replica-add";
 
     /**
-     * 短链接修改分组 ID 锁前缀 Key
+     * 短链接跳转布隆过滤器本地副本追加广播序号 Key
      */
-    public static final String LOCK_GID_UPDATE_KEY = "short-link:lock:update-gid:%s";
+    public static final String GOTO_BLOOM_FILTER_REPLICA_ADD_SEQUENCE_KEY = "short-link:goto-bloom-filter-replica:add-sequence";
 
     /**
      * 短链接延迟队列消费统计 Key
@@ -48,24 +48,19 @@ public class RedisKeyConstant {
     public static final String DELAY_QUEUE_STATS_KEY = "short-link:delay-queue:stats";
 
     /**
-     * 短链接统计判断是否新用户缓存标识
+     * 短链接监控消息队列分区消费租约锁前缀 Key
      */
-    public static final String SHORT_LINK_STATS_UV_KEY = "short-link:stats:uv:";
+    public static final String LOCK_STATS_STREAM_PARTITION_KEY = "short-link:lock:stats-stream-partition:%d";
 
     /**
-     * 短链接统计判断是否新 IP 缓存标识
-     */
-    public static final String SHORT_LINK_STATS_UIP_KEY = "short-link:stats:uip:";
-
-    /**
-     * 短链接监控消息保存队列 Topic 缓存标识
+     * 短链接监控消息保存队列 Group 缓存标识
      */
-    public static final String SHORT_LINK_STATS_STREAM_TOPIC_KEY = "short-link:stats-stream";
+    public static final String SHORT_LINK_STATS_STREAM_GROUP_KEY = "short-link:stats-stream:only-group";
 
     /**
-     * 短链接监控消息保存队列 Group 缓存标识
+     * 短链接监控消息超过最大投递次数后转入的死信队列 Key
      */
-    public static final String SHORT_LINK_STATS_STREAM_GROUP_KEY = "short-link:stats-stream:only-group";
+    public static final String SHORT_LINK_STATS_STREAM_DEAD_LETTER_KEY = "short-link:stats-stream:dead-letter";
 
     /**
      * 创建短链接锁标识
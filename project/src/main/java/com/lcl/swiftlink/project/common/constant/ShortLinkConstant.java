@@ -26,9 +26,4 @@ public class ShortLinkConstant {
      * 永久短链接默认缓存有效时间，默认一个月
      */
     public static final long DEFAULT_CACHE_VALID_TIME = 2626560000L;
-
-    /**
-     * 高德获取地区接口地址
-     */
-    public static final String AMAP_REMOTE_URL = "https://restapi.amap.com/v3/ip";
 }
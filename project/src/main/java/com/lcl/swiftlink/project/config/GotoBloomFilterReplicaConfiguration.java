@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转布隆过滤器本地副本配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto-cache.bloom-filter-replica")
+public class GotoBloomFilterReplicaConfiguration {
+
+    /**
+     * 是否开启布隆过滤器本地副本，关闭时直接查询 Redis 布隆过滤器
+     */
+    private Boolean enable;
+
+    /**
+     * 预计元素数量
+     */
+    private Long expectedInsertions;
+
+    /**
+     * 误判率
+     */
+    private Double falseProbability;
+
+    /**
+     * 启动加载快照时每批读取的跳转记录数
+     */
+    private Integer loadBatchSize;
+
+    /**
+     * 比对追加广播序号检查消息丢失的间隔，单位毫秒，发现丢失时根据跳转表全量重建本地副本
+     */
+    private Long gapCheckInterval;
+}
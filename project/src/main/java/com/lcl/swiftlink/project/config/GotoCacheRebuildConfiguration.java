@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转缓存重建配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto-cache.rebuild")
+public class GotoCacheRebuildConfiguration {
+
+    /**
+     * 获取重建分布式锁最大等待时间，单位：毫秒
+     */
+    private Long lockWaitTime;
+
+    /**
+     * 重建分布式锁租约时间，到期自动释放，单位：毫秒
+     */
+    private Long lockLeaseTime;
+}
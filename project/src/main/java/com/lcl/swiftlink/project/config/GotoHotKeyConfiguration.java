@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转热点 Key 探测配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto-cache.hot-key")
+public class GotoHotKeyConfiguration {
+
+    /**
+     * 是否开启热点 Key 探测
+     */
+    private Boolean enable;
+
+    /**
+     * 统计滑动窗口长度，单位：秒
+     */
+    private Integer windowSeconds;
+
+    /**
+     * 判定为热点的每秒访问量阈值
+     */
+    private Long qpsThreshold;
+
+    /**
+     * 最多常驻本地的热点 Key 数量
+     */
+    private Integer topK;
+
+    /**
+     * 热点 Key 重新计算及常驻缓存刷新间隔，单位：毫秒
+     */
+    private Long refreshInterval;
+
+    /**
+     * Count-Min Sketch 每行计数器数量
+     */
+    private Integer sketchWidth;
+
+    /**
+     * Count-Min Sketch 哈希函数数量
+     */
+    private Integer sketchDepth;
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接跳转缓存过期后台刷新配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.goto-cache.stale-while-revalidate")
+public class GotoStaleWhileRevalidateConfiguration {
+
+    /**
+     * 是否开启软过期后台刷新，仅对永久有效期短链接生效
+     */
+    private Boolean enable;
+
+    /**
+     * 软过期时间距离缓存实际过期时间的提前量，单位：秒
+     */
+    private Long staleWindow;
+
+    /**
+     * 后台刷新线程数
+     */
+    private Integer refreshThreads;
+
+    /**
+     * 后台刷新任务队列容量，队列满时丢弃刷新任务，由后续请求再次触发
+     */
+    private Integer refreshQueueCapacity;
+}
@@ -22,6 +22,8 @@ import org.redisson.api.RedissonClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_BLOOM_FILTER_NAME;
+
 /**
  * 布隆过滤器配置
  */
@@ -33,15 +35,8 @@ public class RBloomFilterConfiguration {
      */
     @Bean
     public RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter(RedissonClient redissonClient) {
-        RBloomFilter<String> cachePenetrationBloomFilter = redissonClient.getBloomFilter("shortUriCreateCachePenetrationBloomFilter");
+        RBloomFilter<String> cachePenetrationBloomFilter = redissonClient.getBloomFilter(GOTO_SHORT_LINK_BLOOM_FILTER_NAME);
         cachePenetrationBloomFilter.tryInit(100000000L, 0.001);
         return cachePenetrationBloomFilter;
     }
-
-    @Bean
-    public RBloomFilter<String> swiftUrlRedisBloomFilter(RedissonClient redissonClient) {
-        RBloomFilter<String> swiftUrlBloomFilter = redissonClient.getBloomFilter("swiftUrlBloomFilter");
-        swiftUrlBloomFilter.tryInit(100000000L, 0.001);
-        return swiftUrlBloomFilter;
-    }
 }
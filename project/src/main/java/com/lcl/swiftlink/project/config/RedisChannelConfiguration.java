@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import com.lcl.swiftlink.project.mq.consumer.ShortLinkGotoBloomFilterAddConsumer;
+import com.lcl.swiftlink.project.mq.consumer.ShortLinkGotoCacheInvalidateConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_BLOOM_FILTER_REPLICA_ADD_CHANNEL;
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_LOCAL_CACHE_INVALIDATE_CHANNEL;
+
+/**
+ * Redis 发布订阅配置
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RedisChannelConfiguration {
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final ShortLinkGotoCacheInvalidateConsumer shortLinkGotoCacheInvalidateConsumer;
+    private final ShortLinkGotoBloomFilterAddConsumer shortLinkGotoBloomFilterAddConsumer;
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisConnectionFactory);
+        // 修改、移入回收站、删除短链接时广播，各节点删除本地跳转缓存
+        listenerContainer.addMessageListener(shortLinkGotoCacheInvalidateConsumer, new ChannelTopic(GOTO_LOCAL_CACHE_INVALIDATE_CHANNEL));
+        // 创建短链接时广播，各节点追加布隆过滤器本地副本
+        listenerContainer.addMessageListener(shortLinkGotoBloomFilterAddConsumer, new ChannelTopic(GOTO_BLOOM_FILTER_REPLICA_ADD_CHANNEL));
+        return listenerContainer;
+    }
+}
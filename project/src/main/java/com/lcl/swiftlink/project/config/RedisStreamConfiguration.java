@@ -17,8 +17,12 @@
 
 package com.lcl.swiftlink.project.config;
 
+import com.lcl.swiftlink.common.config.StatsStreamPartitionConfiguration;
+import com.lcl.swiftlink.common.toolkit.StatsStreamKeyUtil;
 import com.lcl.swiftlink.project.mq.consumer.ShortLinkStatsSaveConsumer;
+import com.lcl.swiftlink.project.toolkit.StreamConsumerUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -27,7 +31,6 @@ import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.ReadOffset;
 import org.springframework.data.redis.connection.stream.StreamOffset;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
-import org.springframework.data.redis.stream.Subscription;
 
 import java.time.Duration;
 import java.util.concurrent.ExecutorService;
@@ -37,7 +40,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_GROUP_KEY;
-import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
 
 /**
  * Redis Stream 消息队列配置
@@ -48,12 +50,16 @@ public class RedisStreamConfiguration {
 
     private final RedisConnectionFactory redisConnectionFactory;
     private final ShortLinkStatsSaveConsumer shortLinkStatsSaveConsumer;
+    private final StatsConsumerConfiguration statsConsumerConfiguration;
+    private final StatsStreamPartitionConfiguration statsStreamPartitionConfiguration;
 
     @Bean
+    @ConditionalOnProperty(prefix = "short-link.stats.consumer.batch", name = "enable", havingValue = "false", matchIfMissing = true)
     public ExecutorService asyncStreamConsumer() {
         AtomicInteger index = new AtomicInteger();
-        return new ThreadPoolExecutor(1,
-                1,
+        int threads = statsConsumerConfiguration.getThreads();
+        return new ThreadPoolExecutor(threads,
+                threads,
                 60,
                 TimeUnit.SECONDS,
                 new SynchronousQueue<>(),
@@ -67,8 +73,13 @@ public class RedisStreamConfiguration {
         );
     }
 
-    @Bean
-    public Subscription shortLinkStatsSaveConsumerSubscription(ExecutorService asyncStreamConsumer) {
+    /**
+     * 逐条消费统计消息，每个消费线程注册一个独立名称的消费者，开启批量消费后由 {@link com.lcl.swiftlink.project.mq.consumer.ShortLinkStatsBatchSaveConsumer} 代替
+     * 多个消费者并发消费同一 Stream 无法保证同一短链接的消息顺序，因此消息队列分区必须配合批量消费的分区租约使用
+     */
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "short-link.stats.consumer.batch", name = "enable", havingValue = "false", matchIfMissing = true)
+    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> shortLinkStatsSaveConsumerContainer(ExecutorService asyncStreamConsumer) {
         StreamMessageListenerContainer.StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
                 StreamMessageListenerContainer.StreamMessageListenerContainerOptions
                         .builder()
@@ -79,15 +90,22 @@ public class RedisStreamConfiguration {
                         // 如果没有拉取到消息，需要阻塞的时间。不能大于 ${spring.data.redis.timeout}，否则会超时
                         .pollTimeout(Duration.ofSeconds(3))
                         .build();
-        StreamMessageListenerContainer.StreamReadRequest<String> streamReadRequest =
-                StreamMessageListenerContainer.StreamReadRequest.builder(StreamOffset.create(SHORT_LINK_STATS_STREAM_TOPIC_KEY, ReadOffset.lastConsumed()))
-                        .cancelOnError(throwable -> false)
-                        .consumer(Consumer.from(SHORT_LINK_STATS_STREAM_GROUP_KEY, "stats-consumer"))
-                        .autoAcknowledge(true)
-                        .build();
+        int partitions = statsStreamPartitionConfiguration.getPartitions();
+        if (partitions > 1) {
+            throw new IllegalStateException("统计消息队列分区数量大于 1 时需开启批量消费 short-link.stats.consumer.batch.enable，逐条消费无法保证分区内消息顺序");
+        }
         StreamMessageListenerContainer<String, MapRecord<String, String, String>> listenerContainer = StreamMessageListenerContainer.create(redisConnectionFactory, options);
-        Subscription subscription = listenerContainer.register(streamReadRequest, shortLinkStatsSaveConsumer);
+        String streamKey = StatsStreamKeyUtil.partitionKey(0, partitions);
+        for (int i = 0; i < statsConsumerConfiguration.getThreads(); i++) {
+            StreamMessageListenerContainer.StreamReadRequest<String> streamReadRequest =
+                    StreamMessageListenerContainer.StreamReadRequest.builder(StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                            .cancelOnError(throwable -> false)
+                            .consumer(Consumer.from(SHORT_LINK_STATS_STREAM_GROUP_KEY, StreamConsumerUtil.consumerName("stats-consumer", i)))
+                            .autoAcknowledge(true)
+                            .build();
+            listenerContainer.register(streamReadRequest, shortLinkStatsSaveConsumer);
+        }
         listenerContainer.start();
-        return subscription;
+        return listenerContainer;
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计批量消费配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.consumer.batch")
+public class StatsConsumerBatchConfiguration {
+
+    /**
+     * 是否开启批量消费，开启后不再注册逐条消费的监听容器
+     */
+    private Boolean enable;
+
+    /**
+     * 单次拉取的最大消息数量
+     */
+    private Integer batchSize;
+
+    /**
+     * 没有消息时阻塞等待的时间，单位：毫秒，不能大于 Redis 命令超时时间
+     */
+    private Long pollTimeout;
+
+    /**
+     * 消息最大投递次数，超过后逐条二分定位无法写入的消息并转入死信队列
+     */
+    private Long maxDeliveryCount;
+}
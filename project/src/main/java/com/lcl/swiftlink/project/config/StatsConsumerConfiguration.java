@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计消息消费者配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.consumer")
+public class StatsConsumerConfiguration {
+
+    /**
+     * 每个实例的消费线程数，每个线程使用独立的消费者名称
+     */
+    private Integer threads;
+
+    /**
+     * 待处理消息空闲超过该时间后由其它消费者认领，单位：毫秒
+     */
+    private Long claimIdleTime;
+
+    /**
+     * 认领已宕机消费者待处理消息的间隔，单位：毫秒
+     */
+    private Long claimInterval;
+}
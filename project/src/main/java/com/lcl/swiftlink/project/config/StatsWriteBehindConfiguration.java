@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计合并写入配置文件，需同时开启批量消费
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.consumer.write-behind")
+public class StatsWriteBehindConfiguration {
+
+    /**
+     * 是否开启合并写入，开启后多次拉取的统计消息在内存中合并，到达刷新间隔或合并行数上限后统一写入并确认消息
+     */
+    private Boolean enable;
+
+    /**
+     * 刷新间隔，单位：毫秒
+     */
+    private Long flushInterval;
+
+    /**
+     * 内存中合并的统计行数上限，达到后立即刷新
+     */
+    private Integer flushSize;
+}
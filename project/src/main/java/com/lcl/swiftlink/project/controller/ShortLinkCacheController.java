@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.controller;
+
+import com.google.common.cache.CacheStats;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoHotKeyDetector;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoLocalCache;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoRebuildSingleFlight;
+import com.lcl.swiftlink.project.common.convention.result.Result;
+import com.lcl.swiftlink.project.common.convention.result.Results;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkGotoCacheStatsRespDTO;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkGotoHotKeyRespDTO;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkGotoRebuildStatsRespDTO;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkGotoResolveStageStatsRespDTO;
+import com.lcl.swiftlink.project.resolver.ShortLinkGotoResolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 短链接跳转缓存控制层
+ */
+@RestController
+@RequiredArgsConstructor
+public class ShortLinkCacheController {
+
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final ShortLinkGotoRebuildSingleFlight shortLinkGotoRebuildSingleFlight;
+    private final ShortLinkGotoResolver shortLinkGotoResolver;
+    private final ShortLinkGotoHotKeyDetector shortLinkGotoHotKeyDetector;
+
+    /**
+     * 查询当前节点跳转本地缓存命中统计
+     */
+    @GetMapping("/api/short-link/v1/cache/goto/stats")
+    public Result<ShortLinkGotoCacheStatsRespDTO> gotoLocalCacheStats() {
+        CacheStats stats = shortLinkGotoLocalCache.stats();
+        ShortLinkGotoCacheStatsRespDTO actualResult = ShortLinkGotoCacheStatsRespDTO.builder()
+                .enable(shortLinkGotoLocalCache.isEnable())
+                .size(shortLinkGotoLocalCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+        return Results.success(actualResult);
+    }
+
+    /**
+     * 查询当前节点跳转缓存重建及分布式锁等待统计
+     */
+    @GetMapping("/api/short-link/v1/cache/goto/rebuild-stats")
+    public Result<ShortLinkGotoRebuildStatsRespDTO> gotoRebuildStats() {
+        long lockWaitCount = shortLinkGotoRebuildSingleFlight.getLockAcquiredCount() + shortLinkGotoRebuildSingleFlight.getLockTimeoutCount();
+        ShortLinkGotoRebuildStatsRespDTO actualResult = ShortLinkGotoRebuildStatsRespDTO.builder()
+                .leaderCount(shortLinkGotoRebuildSingleFlight.getLeaderCount())
+                .followerCount(shortLinkGotoRebuildSingleFlight.getFollowerCount())
+                .lockAcquiredCount(shortLinkGotoRebuildSingleFlight.getLockAcquiredCount())
+                .lockTimeoutCount(shortLinkGotoRebuildSingleFlight.getLockTimeoutCount())
+                .lockWaitAvgMillis(lockWaitCount == 0 ? 0D : (double) shortLinkGotoRebuildSingleFlight.getLockWaitTotalMillis() / lockWaitCount)
+                .lockWaitMaxMillis(shortLinkGotoRebuildSingleFlight.getLockWaitMaxMillis())
+                .build();
+        return Results.success(actualResult);
+    }
+
+    /**
+     * 查询当前节点跳转解析链各阶段耗时统计
+     */
+    @GetMapping("/api/short-link/v1/cache/goto/resolver-stats")
+    public Result<List<ShortLinkGotoResolveStageStatsRespDTO>> gotoResolverStats() {
+        return Results.success(shortLinkGotoResolver.stageStats());
+    }
+
+    /**
+     * 查询当前节点热点短链接及其访问速率
+     */
+    @GetMapping("/api/short-link/v1/cache/goto/hot-keys")
+    public Result<List<ShortLinkGotoHotKeyRespDTO>> gotoHotKeys() {
+        return Results.success(shortLinkGotoHotKeyDetector.hotKeys());
+    }
+}
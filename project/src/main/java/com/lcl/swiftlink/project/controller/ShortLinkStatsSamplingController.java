@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.controller;
+
+import com.lcl.swiftlink.project.common.convention.result.Result;
+import com.lcl.swiftlink.project.common.convention.result.Results;
+import com.lcl.swiftlink.project.dto.req.ShortLinkStatsSamplingRateReqDTO;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkStatsSamplingRespDTO;
+import com.lcl.swiftlink.project.service.ShortLinkStatsSamplingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 短链接统计采样控制层
+ */
+@RestController
+@RequiredArgsConstructor
+public class ShortLinkStatsSamplingController {
+
+    private final ShortLinkStatsSamplingService shortLinkStatsSamplingService;
+
+    /**
+     * 查询当前节点统计采样策略及采样率
+     */
+    @GetMapping("/api/short-link/v1/stats/sampling")
+    public Result<ShortLinkStatsSamplingRespDTO> samplingPolicy() {
+        return Results.success(shortLinkStatsSamplingService.samplingPolicy());
+    }
+
+    /**
+     * 设置单个短链接统计采样率
+     */
+    @PostMapping("/api/short-link/v1/stats/sampling/rate")
+    public Result<Void> setSamplingRate(@RequestBody ShortLinkStatsSamplingRateReqDTO requestParam) {
+        shortLinkStatsSamplingService.setSamplingRate(requestParam);
+        return Results.success();
+    }
+}
@@ -23,6 +23,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Date;
+
 /**
  * 短链接跳转实体
  */
@@ -47,4 +49,29 @@ public class ShortLinkGotoDO {
      * 完整短链接
      */
     private String fullShortUrl;
+
+    /**
+     * 原始链接，与短链接表冗余，跳转回源时无需再查询短链接表
+     */
+    private String originUrl;
+
+    /**
+     * 有效期
+     */
+    private Date validDate;
+
+    /**
+     * 启用标识 0：启用 1：未启用
+     */
+    private Integer enableStatus;
+
+    /**
+     * 删除标识 0：未删除 1：已删除
+     */
+    private Integer delFlag;
+
+    /**
+     * 统计级别 0：完整统计 1：维度聚合 2：仅计数 3：关闭统计，与短链接表冗余
+     */
+    private Integer statsLevel;
 }
@@ -24,6 +24,7 @@ import com.lcl.swiftlink.project.dao.entity.LinkAccessStatsDO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkGroupStatsAccessRecordReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkGroupStatsReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkStatsReqDTO;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
@@ -36,6 +37,19 @@ import java.util.Map;
  */
 public interface LinkAccessLogsMapper extends BaseMapper<LinkAccessLogsDO> {
 
+    /**
+     * 批量记录访问日志
+     */
+    @Insert("<script>" +
+            "INSERT INTO " +
+            "t_link_access_logs (full_short_url, user, ip, browser, os, network, device, locale, create_time, update_time, del_flag) " +
+            "VALUES " +
+            "<foreach collection='linkAccessLogsList' item='item' separator=','>" +
+            "(#{item.fullShortUrl}, #{item.user}, #{item.ip}, #{item.browser}, #{item.os}, #{item.network}, #{item.device}, #{item.locale}, NOW(), NOW(), 0)" +
+            "</foreach>" +
+            "</script>")
+    void insertBatch(@Param("linkAccessLogsList") List<LinkAccessLogsDO> linkAccessLogsList);
+
     /**
      * 根据短链接获取指定日期内高频访问IP数据
      */
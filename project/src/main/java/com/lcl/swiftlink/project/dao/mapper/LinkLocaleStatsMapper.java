@@ -41,6 +41,20 @@ public interface LinkLocaleStatsMapper extends BaseMapper<LinkLocaleStatsDO> {
             "ON DUPLICATE KEY UPDATE cnt = cnt +  #{linkLocaleStats.cnt};")
     void shortLinkLocaleState(@Param("linkLocaleStats") LinkLocaleStatsDO linkLocaleStatsDO);
 
+    /**
+     * 批量记录地区访问监控数据，同一批次按唯一键合并后一次写入
+     */
+    @Insert("<script>" +
+            "INSERT INTO " +
+            "t_link_locale_stats (full_short_url, date, cnt, country, province, city, adcode, create_time, update_time, del_flag) " +
+            "VALUES " +
+            "<foreach collection='linkLocaleStatsList' item='item' separator=','>" +
+            "(#{item.fullShortUrl}, #{item.date}, #{item.cnt}, #{item.country}, #{item.province}, #{item.city}, #{item.adcode}, NOW(), NOW(), 0)" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt);" +
+            "</script>")
+    void shortLinkLocaleStateBatch(@Param("linkLocaleStatsList") List<LinkLocaleStatsDO> linkLocaleStatsList);
+
     /**
      * 根据短链接获取指定日期内地区监控数据
      */
@@ -41,6 +41,20 @@ public interface LinkNetworkStatsMapper extends BaseMapper<LinkNetworkStatsDO> {
             "ON DUPLICATE KEY UPDATE cnt = cnt +  #{linkNetworkStats.cnt};")
     void shortLinkNetworkState(@Param("linkNetworkStats") LinkNetworkStatsDO linkNetworkStatsDO);
 
+    /**
+     * 批量记录访问网络监控数据，同一批次按唯一键合并后一次写入
+     */
+    @Insert("<script>" +
+            "INSERT INTO " +
+            "t_link_network_stats (full_short_url, date, cnt, network, create_time, update_time, del_flag) " +
+            "VALUES " +
+            "<foreach collection='linkNetworkStatsList' item='item' separator=','>" +
+            "(#{item.fullShortUrl}, #{item.date}, #{item.cnt}, #{item.network}, NOW(), NOW(), 0)" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt);" +
+            "</script>")
+    void shortLinkNetworkStateBatch(@Param("linkNetworkStatsList") List<LinkNetworkStatsDO> linkNetworkStatsList);
+
     /**
      * 根据短链接获取指定日期内访问网络监控数据
      */
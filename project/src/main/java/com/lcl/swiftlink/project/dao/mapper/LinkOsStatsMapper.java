@@ -42,6 +42,20 @@ public interface LinkOsStatsMapper extends BaseMapper<LinkOsStatsDO> {
             "ON DUPLICATE KEY UPDATE cnt = cnt +  #{linkOsStats.cnt};")
     void shortLinkOsState(@Param("linkOsStats") LinkOsStatsDO linkOsStatsDO);
 
+    /**
+     * 批量记录操作系统访问监控数据，同一批次按唯一键合并后一次写入
+     */
+    @Insert("<script>" +
+            "INSERT INTO " +
+            "t_link_os_stats (full_short_url, date, cnt, os, create_time, update_time, del_flag) " +
+            "VALUES " +
+            "<foreach collection='linkOsStatsList' item='item' separator=','>" +
+            "(#{item.fullShortUrl}, #{item.date}, #{item.cnt}, #{item.os}, NOW(), NOW(), 0)" +
+            "</foreach> " +
+            "ON DUPLICATE KEY UPDATE cnt = cnt + VALUES(cnt);" +
+            "</script>")
+    void shortLinkOsStateBatch(@Param("linkOsStatsList") List<LinkOsStatsDO> linkOsStatsList);
+
     /**
      * 根据短链接获取指定日期内操作系统监控数据
      */
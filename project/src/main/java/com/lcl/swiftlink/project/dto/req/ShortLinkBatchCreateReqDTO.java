@@ -59,4 +59,9 @@ public class ShortLinkBatchCreateReqDTO {
      */
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
     private Date validDate;
+
+    /**
+     * 统计级别 0：完整统计 1：维度聚合 2：仅计数 3：关闭统计
+     */
+    private Integer statsLevel;
 }
@@ -69,4 +69,9 @@ public class ShortLinkCreateReqDTO {
      * 描述
      */
     private String describe;
+
+    /**
+     * 统计级别 0：完整统计 1：维度聚合 2：仅计数 3：关闭统计
+     */
+    private Integer statsLevel;
 }
@@ -15,81 +15,49 @@
  * limitations under the License.
  */
 
-package com.lcl.swiftlink.project.dto.biz;
+package com.lcl.swiftlink.project.dto.resp;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Date;
-
 /**
- * 短链接统计实体
+ * 短链接跳转本地缓存统计返回参数
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SwiftLinkVisitDTO {
-
-    /**
-     * 完整短链接
-     */
-    private String fullSwiftUrl;
-
-    /**
-     * 访问用户IP
-     */
-    private String clientIP;
-
-    /**
-     * 浏览器
-     */
-    private String clientBrowser;
-
-    /**
-     * 操作设备
-     */
-    private String clientDevice;
-
-    /**
-     * 网络
-     */
-    private String clientNetwork;
-
-    /**
-     * UV
-     */
-    private String uv;
+public class ShortLinkGotoCacheStatsRespDTO {
 
     /**
-     * UV历史访问标识
+     * 是否开启本地缓存
      */
-    private Boolean uvHistoryFirstFlag;
+    private Boolean enable;
 
     /**
-     * UIP历史访问标识
+     * 当前缓存条目数
      */
-    private Boolean uipHistoryFirstFlag;
+    private Long size;
 
     /**
-     * UV今日访问标识
+     * 命中次数
      */
-    private Boolean uvTodayFirstFlag;
+    private Long hitCount;
 
     /**
-     * UIP今日访问标识
+     * 未命中次数
      */
-    private Boolean uipTodayFirstFlag;
+    private Long missCount;
 
     /**
-     * 消息队列唯一标识
+     * 命中率
      */
-    private String keys;
+    private Double hitRate;
 
     /**
-     * 当前时间
+     * 淘汰次数
      */
-    private Date currentDate;
+    private Long evictionCount;
 }
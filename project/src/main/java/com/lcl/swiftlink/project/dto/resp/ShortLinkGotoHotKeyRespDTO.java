@@ -15,38 +15,34 @@
  * limitations under the License.
  */
 
-package com.lcl.swiftlink.project.dao.entity;
+package com.lcl.swiftlink.project.dto.resp;
 
-import com.baomidou.mybatisplus.annotation.TableField;
-import com.baomidou.mybatisplus.annotation.TableName;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * 短链接跳转实体
+ * 短链接跳转热点 Key 返回参数
  */
 @Data
 @Builder
-@TableName("t_link_goto")
 @NoArgsConstructor
 @AllArgsConstructor
-public class SwiftLinkJumpDO {
+public class ShortLinkGotoHotKeyRespDTO {
 
     /**
-     * ID
+     * 完整短链接
      */
-    private Long id;
+    private String fullShortUrl;
 
     /**
-     * 分组标识
+     * 滑动窗口估算每秒访问量
      */
-    private String gid;
+    private Double qps;
 
     /**
-     * 完整短链接
+     * 是否已常驻本地
      */
-    @TableField("full_short_url")
-    private String fullSwiftUrl;
+    private Boolean pinned;
 }
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接跳转缓存重建统计返回参数
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkGotoRebuildStatsRespDTO {
+
+    /**
+     * 实际执行重建次数
+     */
+    private Long leaderCount;
+
+    /**
+     * 合并等待其它线程重建结果次数
+     */
+    private Long followerCount;
+
+    /**
+     * 获取分布式锁成功次数
+     */
+    private Long lockAcquiredCount;
+
+    /**
+     * 获取分布式锁超时次数
+     */
+    private Long lockTimeoutCount;
+
+    /**
+     * 获取分布式锁平均等待时间，单位：毫秒
+     */
+    private Double lockWaitAvgMillis;
+
+    /**
+     * 获取分布式锁最大等待时间，单位：毫秒
+     */
+    private Long lockWaitMaxMillis;
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接跳转解析阶段统计返回参数
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortLinkGotoResolveStageStatsRespDTO {
+
+    /**
+     * 解析阶段名称
+     */
+    private String stage;
+
+    /**
+     * 进入该阶段次数
+     */
+    private Long invokeCount;
+
+    /**
+     * 在该阶段得出结果次数
+     */
+    private Long resolvedCount;
+
+    /**
+     * 平均耗时，单位：微秒
+     */
+    private Double avgMicros;
+
+    /**
+     * 最大耗时，单位：微秒
+     */
+    private Long maxMicros;
+}
@@ -90,6 +90,11 @@ public class ShortLinkPageRespDTO {
      */
     private String favicon;
 
+    /**
+     * 统计级别 0：完整统计 1：维度聚合 2：仅计数 3：关闭统计
+     */
+    private Integer statsLevel;
+
     /**
      * 历史PV
      */
@@ -15,76 +15,51 @@
  * limitations under the License.
  */
 
-package com.lcl.swiftlink.project.dto.biz;
+package com.lcl.swiftlink.project.dto.resp;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Date;
+import java.util.Map;
 
 /**
- * 短链接统计实体
+ * 短链接统计采样策略返回参数
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ShortLinkStatsRecordDTO {
+public class ShortLinkStatsSamplingRespDTO {
 
     /**
-     * 完整短链接
+     * 是否开启自适应采样
      */
-    private String fullShortUrl;
+    private Boolean enable;
 
     /**
-     * 访问用户IP
+     * 统计消息队列当前积压数量
      */
-    private String remoteAddr;
+    private Long streamLag;
 
     /**
-     * 操作系统
+     * 开始采样的积压阈值
      */
-    private String os;
+    private Long lagThreshold;
 
     /**
-     * 浏览器
+     * 自适应采样率下限
      */
-    private String browser;
+    private Double minRate;
 
     /**
-     * 操作设备
+     * 当前全局自适应采样率
      */
-    private String device;
+    private Double globalRate;
 
     /**
-     * 网络
+     * 单独设置采样率的短链接
      */
-    private String network;
-
-    /**
-     * UV
-     */
-    private String uv;
-
-    /**
-     * UV访问标识
-     */
-    private Boolean uvFirstFlag;
-
-    /**
-     * UIP访问标识
-     */
-    private Boolean uipFirstFlag;
-
-    /**
-     * 消息队列唯一标识
-     */
-    private String keys;
-
-    /**
-     * 当前时间
-     */
-    private Date currentDate;
+    private Map<String, Double> linkRates;
 }
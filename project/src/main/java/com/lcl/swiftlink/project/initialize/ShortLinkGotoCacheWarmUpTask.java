@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.initialize;
+
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoCacheLoader;
+import com.lcl.swiftlink.project.config.GotoCacheWarmUpConfiguration;
+import com.lcl.swiftlink.project.dao.entity.LinkStatsTodayDO;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkGotoDO;
+import com.lcl.swiftlink.project.dao.mapper.LinkStatsTodayMapper;
+import com.lcl.swiftlink.project.dao.mapper.ShortLinkGotoMapper;
+import com.lcl.swiftlink.project.dao.mapper.ShortLinkMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 短链接跳转缓存启动预热
+ * 在容器刷新阶段执行，早于 Web 服务启动及注册中心注册，节点对外提供服务前热点短链接已写入缓存
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoCacheWarmUpTask implements InitializingBean {
+
+    private final GotoCacheWarmUpConfiguration gotoCacheWarmUpConfiguration;
+    private final LinkStatsTodayMapper linkStatsTodayMapper;
+    private final ShortLinkMapper shortLinkMapper;
+    private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final ShortLinkGotoCacheLoader shortLinkGotoCacheLoader;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!Objects.equals(gotoCacheWarmUpConfiguration.getEnable(), Boolean.TRUE)) {
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            List<ShortLinkGotoDO> warmUpList = listWarmUpShortLinks();
+            shortLinkGotoCacheLoader.putAll(warmUpList);
+            log.info("短链接跳转缓存预热完成，共预热 {} 条，耗时 {} ms", warmUpList.size(), System.currentTimeMillis() - startTime);
+        } catch (Throwable ex) {
+            // 预热失败不影响节点启动，未预热的短链接按正常流程回源
+            log.error("短链接跳转缓存预热失败", ex);
+        }
+    }
+
+    private List<ShortLinkGotoDO> listWarmUpShortLinks() {
+        Integer topN = gotoCacheWarmUpConfiguration.getTopN();
+        Date now = new Date();
+        Map<String, ShortLinkGotoDO> warmUpMap = new LinkedHashMap<>();
+        LambdaQueryWrapper<LinkStatsTodayDO> todayQueryWrapper = Wrappers.lambdaQuery(LinkStatsTodayDO.class)
+                .select(LinkStatsTodayDO::getFullShortUrl)
+                .eq(LinkStatsTodayDO::getDate, DateUtil.beginOfDay(now))
+                .orderByDesc(LinkStatsTodayDO::getTodayPv)
+                .last("LIMIT " + topN);
+        List<String> todayTopList = linkStatsTodayMapper.selectList(todayQueryWrapper).stream()
+                .map(LinkStatsTodayDO::getFullShortUrl)
+                .toList();
+        if (!todayTopList.isEmpty()) {
+            LambdaQueryWrapper<ShortLinkGotoDO> gotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                    .in(ShortLinkGotoDO::getFullShortUrl, todayTopList)
+                    .eq(ShortLinkGotoDO::getDelFlag, 0)
+                    .eq(ShortLinkGotoDO::getEnableStatus, 0)
+                    .isNotNull(ShortLinkGotoDO::getOriginUrl);
+            shortLinkGotoMapper.selectList(gotoQueryWrapper).forEach(each -> warmUpMap.put(each.getFullShortUrl(), each));
+        }
+        LambdaQueryWrapper<ShortLinkDO> totalQueryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
+                .select(ShortLinkDO::getFullShortUrl, ShortLinkDO::getOriginUrl, ShortLinkDO::getValidDate, ShortLinkDO::getStatsLevel)
+                .eq(ShortLinkDO::getDelFlag, 0)
+                .eq(ShortLinkDO::getEnableStatus, 0)
+                .orderByDesc(ShortLinkDO::getTotalPv)
+                .last("LIMIT " + topN);
+        shortLinkMapper.selectList(totalQueryWrapper).forEach(each -> warmUpMap.putIfAbsent(
+                each.getFullShortUrl(),
+                ShortLinkGotoDO.builder()
+                        .fullShortUrl(each.getFullShortUrl())
+                        .originUrl(each.getOriginUrl())
+                        .validDate(each.getValidDate())
+                        .statsLevel(each.getStatsLevel())
+                        .build()
+        ));
+        return warmUpMap.values().stream()
+                .filter(each -> each.getValidDate() == null || each.getValidDate().after(now))
+                .toList();
+    }
+}
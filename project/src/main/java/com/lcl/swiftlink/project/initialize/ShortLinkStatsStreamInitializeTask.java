@@ -17,28 +17,77 @@
 
 package com.lcl.swiftlink.project.initialize;
 
+import com.lcl.swiftlink.common.config.StatsStreamPartitionConfiguration;
+import com.lcl.swiftlink.common.toolkit.StatsStreamKeyUtil;
+import com.lcl.swiftlink.project.mq.consumer.ShortLinkStatsStreamConsumerCleaner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_GROUP_KEY;
-import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
 
 /**
- * 初始化短链接监控消息队列消费者组
+ * 初始化短链接监控消息队列消费者组，分区时每个分区 Stream 各自创建消费者组
+ * 跳转服务可能先于短链接服务向分区写入消息，因此不论 Stream 是否存在都执行 XGROUP CREATE ... MKSTREAM，
+ * 消费者组从头读取已写入的消息；消费者组已存在时忽略 BUSYGROUP 错误，并清理历史实例遗留的空闲消费者
  */
 @Component
 @RequiredArgsConstructor
 public class ShortLinkStatsStreamInitializeTask implements InitializingBean {
 
+    private static final String BUSY_GROUP_ERROR = "BUSYGROUP";
+
     private final StringRedisTemplate stringRedisTemplate;
+    private final StatsStreamPartitionConfiguration statsStreamPartitionConfiguration;
+    private final ShortLinkStatsStreamConsumerCleaner shortLinkStatsStreamConsumerCleaner;
 
     @Override
     public void afterPropertiesSet() throws Exception {
-        Boolean hasKey = stringRedisTemplate.hasKey(SHORT_LINK_STATS_STREAM_TOPIC_KEY);
-        if (hasKey == null || !hasKey) {
-            stringRedisTemplate.opsForStream().createGroup(SHORT_LINK_STATS_STREAM_TOPIC_KEY, SHORT_LINK_STATS_STREAM_GROUP_KEY);
+        int partitions = statsStreamPartitionConfiguration.getPartitions();
+        for (int i = 0; i < Math.max(partitions, 1); i++) {
+            String streamKey = StatsStreamKeyUtil.partitionKey(i, partitions);
+            if (!createGroup(streamKey)) {
+                shortLinkStatsStreamConsumerCleaner.cleanup(streamKey, null);
+            }
+        }
+    }
+
+    /**
+     * 创建消费者组，Stream 不存在时一并创建
+     *
+     * @param streamKey 消息队列 Key
+     * @return 是否新建，消费者组已存在时返回 false
+     */
+    private boolean createGroup(String streamKey) {
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) (RedisConnection connection) -> connection.streamCommands().xGroupCreate(
+                    streamKey.getBytes(StandardCharsets.UTF_8),
+                    SHORT_LINK_STATS_STREAM_GROUP_KEY,
+                    ReadOffset.from("0"),
+                    true
+            ));
+            return true;
+        } catch (DataAccessException ex) {
+            if (isBusyGroup(ex)) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    private boolean isBusyGroup(Throwable ex) {
+        for (Throwable each = ex; each != null; each = each.getCause()) {
+            if (each.getMessage() != null && each.getMessage().contains(BUSY_GROUP_ERROR)) {
+                return true;
+            }
         }
+        return false;
     }
 }
@@ -17,8 +17,8 @@
 
 package com.lcl.swiftlink.project.mq.consumer;
 
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
 import com.lcl.swiftlink.project.common.convention.exception.ServiceException;
-import com.lcl.swiftlink.project.dto.biz.ShortLinkStatsRecordDTO;
 import com.lcl.swiftlink.project.mq.idempotent.MessageQueueIdempotentHandler;
 import com.lcl.swiftlink.project.service.ShortLinkService;
 import lombok.RequiredArgsConstructor;
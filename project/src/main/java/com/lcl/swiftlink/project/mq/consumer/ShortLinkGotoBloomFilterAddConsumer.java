@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.consumer;
+
+import com.lcl.swiftlink.project.cache.ShortLinkGotoBloomFilterReplica;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.lcl.swiftlink.project.mq.producer.ShortLinkGotoBloomFilterAddProducer.SEQUENCE_SEPARATOR;
+
+/**
+ * 短链接跳转布隆过滤器本地副本追加消息消费者
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoBloomFilterAddConsumer implements MessageListener {
+
+    private final ShortLinkGotoBloomFilterReplica shortLinkGotoBloomFilterReplica;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separatorIndex = body.indexOf(SEQUENCE_SEPARATOR);
+        if (separatorIndex < 0) {
+            shortLinkGotoBloomFilterReplica.add(body);
+            return;
+        }
+        long sequence = Long.parseLong(body.substring(0, separatorIndex));
+        shortLinkGotoBloomFilterReplica.add(sequence, body.substring(separatorIndex + SEQUENCE_SEPARATOR.length()));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.consumer;
+
+import com.lcl.swiftlink.project.cache.ShortLinkGotoHotKeyDetector;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoLocalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 短链接跳转本地缓存失效消息消费者
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoCacheInvalidateConsumer implements MessageListener {
+
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final ShortLinkGotoHotKeyDetector shortLinkGotoHotKeyDetector;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String fullShortUrl = new String(message.getBody(), StandardCharsets.UTF_8);
+        shortLinkGotoLocalCache.invalidate(fullShortUrl);
+        shortLinkGotoHotKeyDetector.invalidate(fullShortUrl);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.consumer;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.util.StrUtil;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.enums.ShortLinkStatsLevelEnum;
+import com.lcl.swiftlink.common.stats.IpRegion;
+import com.lcl.swiftlink.common.stats.ShortLinkIpRegionSearcher;
+import com.lcl.swiftlink.project.dao.entity.LinkAccessLogsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkAccessStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkBrowserStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkDeviceStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkLocaleStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkNetworkStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkOsStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkStatsTodayDO;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 短链接统计批量写入缓冲
+ * 一批统计消息按各统计表唯一键在内存中合并，写入时每张统计表只执行一条多行 INSERT ... ON DUPLICATE KEY UPDATE
+ * 合并结果按唯一键排序，并发消费者总是以相同顺序对统计行和短链接加锁，避免交叉加锁死锁
+ */
+public class ShortLinkStatsBatch {
+
+    private final ShortLinkIpRegionSearcher shortLinkIpRegionSearcher;
+
+    private final Map<String, LinkAccessStatsDO> accessStats = new TreeMap<>();
+
+    private final Map<String, LinkLocaleStatsDO> localeStats = new TreeMap<>();
+
+    private final Map<String, LinkOsStatsDO> osStats = new TreeMap<>();
+
+    private final Map<String, LinkBrowserStatsDO> browserStats = new TreeMap<>();
+
+    private final Map<String, LinkDeviceStatsDO> deviceStats = new TreeMap<>();
+
+    private final Map<String, LinkNetworkStatsDO> networkStats = new TreeMap<>();
+
+    private final Map<String, LinkStatsTodayDO> todayStats = new TreeMap<>();
+
+    private final Map<String, ShortLinkDO> linkTotals = new TreeMap<>();
+
+    @Getter
+    private final List<LinkAccessLogsDO> accessLogs = new ArrayList<>();
+
+    public ShortLinkStatsBatch(ShortLinkIpRegionSearcher shortLinkIpRegionSearcher) {
+        this.shortLinkIpRegionSearcher = shortLinkIpRegionSearcher;
+    }
+
+    /**
+     * 合并一条统计消息，按统计级别跳过不需要写入的统计表
+     *
+     * @param statsRecord 短链接统计实体
+     * @param gid         短链接当前分组标识
+     */
+    public void add(ShortLinkStatsRecordDTO statsRecord, String gid) {
+        String fullShortUrl = statsRecord.getFullShortUrl();
+        Date currentDate = statsRecord.getCurrentDate();
+        ShortLinkStatsLevelEnum statsLevel = ShortLinkStatsLevelEnum.of(statsRecord.getStatsLevel());
+        boolean accessLogFlag = statsLevel.isAccessLogEnabled() && !Objects.equals(statsRecord.getAccessLogFlag(), Boolean.FALSE);
+        int pv = Objects.requireNonNullElse(statsRecord.getPv(), 1);
+        IpRegion ipRegion = null;
+        if (accessLogFlag || (pv > 0 && statsLevel.isDimensionEnabled())) {
+            ipRegion = StrUtil.isNotBlank(statsRecord.getProvince())
+                    ? new IpRegion(statsRecord.getCountry(), statsRecord.getProvince(), statsRecord.getCity(), statsRecord.getAdcode())
+                    : shortLinkIpRegionSearcher.search(statsRecord.getRemoteAddr());
+        }
+        if (pv > 0) {
+            int uv = count(statsRecord.getUvCnt(), statsRecord.getUvFirstFlag());
+            int uip = count(statsRecord.getUipCnt(), statsRecord.getUipFirstFlag());
+            // 预聚合消息不携带首次访问标识，当日标识缺失时沿用历史标识，两者均可能为空
+            int todayUv = count(statsRecord.getTodayUvCnt(), statsRecord.getTodayUvFirstFlag() != null ? statsRecord.getTodayUvFirstFlag() : statsRecord.getUvFirstFlag());
+            int todayUip = count(statsRecord.getTodayUipCnt(), statsRecord.getTodayUipFirstFlag() != null ? statsRecord.getTodayUipFirstFlag() : statsRecord.getUipFirstFlag());
+            if (statsLevel.isDimensionEnabled()) {
+                addDimensionStats(statsRecord, ipRegion, pv, uv, uip);
+            }
+            String day = DateUtil.formatDate(currentDate);
+            linkTotals.merge(key(gid, fullShortUrl),
+                    ShortLinkDO.builder().gid(gid).fullShortUrl(fullShortUrl).totalPv(pv).totalUv(uv).totalUip(uip).build(),
+                    (exist, each) -> {
+                        exist.setTotalPv(exist.getTotalPv() + each.getTotalPv());
+                        exist.setTotalUv(exist.getTotalUv() + each.getTotalUv());
+                        exist.setTotalUip(exist.getTotalUip() + each.getTotalUip());
+                        return exist;
+                    });
+            todayStats.merge(key(fullShortUrl, day),
+                    LinkStatsTodayDO.builder().fullShortUrl(fullShortUrl).date(currentDate).todayPv(pv).todayUv(todayUv).todayUip(todayUip).build(),
+                    (exist, each) -> {
+                        exist.setTodayPv(exist.getTodayPv() + each.getTodayPv());
+                        exist.setTodayUv(exist.getTodayUv() + each.getTodayUv());
+                        exist.setTodayUip(exist.getTodayUip() + each.getTodayUip());
+                        return exist;
+                    });
+        }
+        if (accessLogFlag) {
+            accessLogs.add(LinkAccessLogsDO.builder()
+                    .user(statsRecord.getUv())
+                    .ip(statsRecord.getRemoteAddr())
+                    .browser(statsRecord.getBrowser())
+                    .os(statsRecord.getOs())
+                    .network(statsRecord.getNetwork())
+                    .device(statsRecord.getDevice())
+                    .locale(StrUtil.join("-", ipRegion.getCountry(), ipRegion.getProvince(), ipRegion.getCity()))
+                    .fullShortUrl(fullShortUrl)
+                    .build());
+        }
+    }
+
+    private void addDimensionStats(ShortLinkStatsRecordDTO statsRecord, IpRegion ipRegion, int pv, int uv, int uip) {
+        String fullShortUrl = statsRecord.getFullShortUrl();
+        Date currentDate = statsRecord.getCurrentDate();
+        String day = DateUtil.formatDate(currentDate);
+        int hour = DateUtil.hour(currentDate, true);
+        accessStats.merge(key(fullShortUrl, day, String.valueOf(hour)),
+                LinkAccessStatsDO.builder()
+                        .pv(pv)
+                        .uv(uv)
+                        .uip(uip)
+                        .hour(hour)
+                        .weekday(DateUtil.dayOfWeekEnum(currentDate).getIso8601Value())
+                        .fullShortUrl(fullShortUrl)
+                        .date(currentDate)
+                        .build(),
+                (exist, each) -> {
+                    exist.setPv(exist.getPv() + each.getPv());
+                    exist.setUv(exist.getUv() + each.getUv());
+                    exist.setUip(exist.getUip() + each.getUip());
+                    return exist;
+                });
+        localeStats.merge(key(fullShortUrl, day, ipRegion.getCountry(), ipRegion.getProvince(), ipRegion.getCity(), ipRegion.getAdcode()),
+                LinkLocaleStatsDO.builder()
+                        .province(ipRegion.getProvince())
+                        .city(ipRegion.getCity())
+                        .adcode(ipRegion.getAdcode())
+                        .cnt(pv)
+                        .fullShortUrl(fullShortUrl)
+                        .country(ipRegion.getCountry())
+                        .date(currentDate)
+                        .build(),
+                (exist, each) -> {
+                    exist.setCnt(exist.getCnt() + each.getCnt());
+                    return exist;
+                });
+        osStats.merge(key(fullShortUrl, day, statsRecord.getOs()),
+                LinkOsStatsDO.builder().os(statsRecord.getOs()).cnt(pv).fullShortUrl(fullShortUrl).date(currentDate).build(),
+                (exist, each) -> {
+                    exist.setCnt(exist.getCnt() + each.getCnt());
+                    return exist;
+                });
+        browserStats.merge(key(fullShortUrl, day, statsRecord.getBrowser()),
+                LinkBrowserStatsDO.builder().browser(statsRecord.getBrowser()).cnt(pv).fullShortUrl(fullShortUrl).date(currentDate).build(),
+                (exist, each) -> {
+                    exist.setCnt(exist.getCnt() + each.getCnt());
+                    return exist;
+                });
+        deviceStats.merge(key(fullShortUrl, day, statsRecord.getDevice()),
+                LinkDeviceStatsDO.builder().device(statsRecord.getDevice()).cnt(pv).fullShortUrl(fullShortUrl).date(currentDate).build(),
+                (exist, each) -> {
+                    exist.setCnt(exist.getCnt() + each.getCnt());
+                    return exist;
+                });
+        networkStats.merge(key(fullShortUrl, day, statsRecord.getNetwork()),
+                LinkNetworkStatsDO.builder().network(statsRecord.getNetwork()).cnt(pv).fullShortUrl(fullShortUrl).date(currentDate).build(),
+                (exist, each) -> {
+                    exist.setCnt(exist.getCnt() + each.getCnt());
+                    return exist;
+                });
+    }
+
+    public List<LinkAccessStatsDO> getAccessStats() {
+        return new ArrayList<>(accessStats.values());
+    }
+
+    public List<LinkLocaleStatsDO> getLocaleStats() {
+        return new ArrayList<>(localeStats.values());
+    }
+
+    public List<LinkOsStatsDO> getOsStats() {
+        return new ArrayList<>(osStats.values());
+    }
+
+    public List<LinkBrowserStatsDO> getBrowserStats() {
+        return new ArrayList<>(browserStats.values());
+    }
+
+    public List<LinkDeviceStatsDO> getDeviceStats() {
+        return new ArrayList<>(deviceStats.values());
+    }
+
+    public List<LinkNetworkStatsDO> getNetworkStats() {
+        return new ArrayList<>(networkStats.values());
+    }
+
+    public List<LinkStatsTodayDO> getTodayStats() {
+        return new ArrayList<>(todayStats.values());
+    }
+
+    /**
+     * 按分组及短链接合并后的历史 PV、UV、UIP 增量
+     */
+    public Collection<ShortLinkDO> getLinkTotals() {
+        return linkTotals.values();
+    }
+
+    public boolean isEmpty() {
+        return linkTotals.isEmpty() && accessLogs.isEmpty();
+    }
+
+    /**
+     * 当前合并后待写入的统计行数
+     */
+    public int size() {
+        return accessStats.size() + localeStats.size() + osStats.size() + browserStats.size() + deviceStats.size()
+                + networkStats.size() + todayStats.size() + linkTotals.size() + accessLogs.size();
+    }
+
+    /**
+     * 预聚合消息直接使用累计数量，单次访问消息按首次访问标识计数
+     */
+    private int count(Integer aggregatedCount, Boolean firstFlag) {
+        if (aggregatedCount != null) {
+            return aggregatedCount;
+        }
+        return Objects.equals(firstFlag, Boolean.TRUE) ? 1 : 0;
+    }
+
+    private String key(String... parts) {
+        return String.join("\u0001", parts);
+    }
+}
@@ -0,0 +1,458 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.consumer;
+
+import com.lcl.swiftlink.common.config.StatsStreamPartitionConfiguration;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.mq.codec.ShortLinkStatsRecordCodec;
+import com.lcl.swiftlink.common.stats.ShortLinkIpRegionSearcher;
+import com.lcl.swiftlink.common.toolkit.StatsStreamKeyUtil;
+import com.lcl.swiftlink.project.config.StatsConsumerBatchConfiguration;
+import com.lcl.swiftlink.project.config.StatsConsumerConfiguration;
+import com.lcl.swiftlink.project.config.StatsWriteBehindConfiguration;
+import com.lcl.swiftlink.project.mq.idempotent.MessageQueueIdempotentHandler;
+import com.lcl.swiftlink.project.toolkit.StreamConsumerUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.LOCK_STATS_STREAM_PARTITION_KEY;
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_DEAD_LETTER_KEY;
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_GROUP_KEY;
+
+/**
+ * 短链接统计批量消费者
+ * 拉取一批消息后在同一事务内按统计表合并写入，提交成功后再确认并删除消息，写入失败的消息留在待处理列表中由本消费者重新拉取
+ * 提交成功后先逐条记录消息幂等标识再确认，确认前中断导致重新投递的消息按幂等标识跳过，不会重复累加
+ * 待处理消息投递次数超过上限后二分拆批写入，仍无法写入的单条消息转入死信队列并确认，避免一条异常消息阻塞整个分区
+ * 未分区时每个实例启动多个消费线程，各自使用独立的消费者名称，已宕机消费者的待处理消息空闲超时后通过 XAUTOCLAIM 认领
+ * 分区时每个实例为每个分区启动一个消费线程，同一时刻只有持有分区租约的线程消费该分区，保证同一短链接的消息按顺序处理
+ * 开启合并写入时，多次拉取的消息先在消费线程内合并，刷新事务提交后再确认被合并的全部消息，重启或写入失败时从待处理列表重新消费
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsBatchSaveConsumer implements InitializingBean, DisposableBean {
+
+    private static final String STATS_STREAM_AUTOCLAIM_LUA_SCRIPT_PATH = "lua/stats_stream_autoclaim.lua";
+
+    private static final String CONSUMER_NAME_PREFIX = "stats-consumer";
+
+    private static final String CLAIM_START_ID = "0-0";
+
+    private static final long RETRY_INTERVAL = 1000L;
+
+    private final StatsConsumerBatchConfiguration statsConsumerBatchConfiguration;
+    private final StatsConsumerConfiguration statsConsumerConfiguration;
+    private final StatsStreamPartitionConfiguration statsStreamPartitionConfiguration;
+    private final StatsWriteBehindConfiguration statsWriteBehindConfiguration;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedissonClient redissonClient;
+    private final ShortLinkStatsSaveConsumer shortLinkStatsSaveConsumer;
+    private final ShortLinkIpRegionSearcher shortLinkIpRegionSearcher;
+    private final ShortLinkStatsStreamConsumerCleaner shortLinkStatsStreamConsumerCleaner;
+    private final MessageQueueIdempotentHandler messageQueueIdempotentHandler;
+
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> autoClaimScript;
+
+    private volatile boolean running;
+
+    private final List<Thread> consumeThreads = new ArrayList<>();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (!Objects.equals(statsConsumerBatchConfiguration.getEnable(), Boolean.TRUE)) {
+            return;
+        }
+        autoClaimScript = new DefaultRedisScript<>();
+        autoClaimScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(STATS_STREAM_AUTOCLAIM_LUA_SCRIPT_PATH)));
+        autoClaimScript.setResultType(List.class);
+        running = true;
+        int partitions = statsStreamPartitionConfiguration.getPartitions();
+        if (partitions <= 1) {
+            String streamKey = StatsStreamKeyUtil.partitionKey(0, partitions);
+            for (int i = 0; i < statsConsumerConfiguration.getThreads(); i++) {
+                String consumerName = StreamConsumerUtil.consumerName(CONSUMER_NAME_PREFIX, i);
+                startConsumeThread("stream_consumer_short-link_stats_batch_" + i, () -> consume(streamKey, consumerName, null));
+            }
+            return;
+        }
+        for (int i = 0; i < partitions; i++) {
+            int partition = i;
+            startConsumeThread("stream_consumer_short-link_stats_batch_partition_" + i, () -> consumePartition(partition, partitions));
+        }
+    }
+
+    private void startConsumeThread(String name, Runnable task) {
+        Thread consumeThread = new Thread(task);
+        consumeThread.setName(name);
+        consumeThread.setDaemon(true);
+        consumeThread.start();
+        consumeThreads.add(consumeThread);
+    }
+
+    /**
+     * 竞争分区租约，获取成功后接管分区内全部待处理消息并独占消费，租约丢失后重新竞争
+     */
+    private void consumePartition(int partition, int partitions) {
+        String streamKey = StatsStreamKeyUtil.partitionKey(partition, partitions);
+        String consumerName = StreamConsumerUtil.consumerName(CONSUMER_NAME_PREFIX, partition);
+        RLock lease = redissonClient.getLock(String.format(LOCK_STATS_STREAM_PARTITION_KEY, partition));
+        while (running) {
+            try {
+                if (!lease.tryLock(statsConsumerConfiguration.getClaimInterval(), TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable ex) {
+                log.error("短链接统计分区租约获取异常，分区：{}", partition, ex);
+                sleep();
+                continue;
+            }
+            try {
+                consume(streamKey, consumerName, lease);
+            } finally {
+                if (lease.isHeldByCurrentThread()) {
+                    lease.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * 拉取并保存统计消息
+     *
+     * @param streamKey    消息队列 Key
+     * @param consumerName 消费者名称
+     * @param lease        分区租约，为 null 时表示未分区，定期认领其它消费者空闲超时的待处理消息
+     */
+    private void consume(String streamKey, String consumerName, RLock lease) {
+        Consumer consumer = Consumer.from(SHORT_LINK_STATS_STREAM_GROUP_KEY, consumerName);
+        WriteBehindBuffer buffer = Objects.equals(statsWriteBehindConfiguration.getEnable(), Boolean.TRUE) ? new WriteBehindBuffer() : null;
+        long pollTimeout = buffer == null
+                ? statsConsumerBatchConfiguration.getPollTimeout()
+                : Math.min(statsConsumerBatchConfiguration.getPollTimeout(), statsWriteBehindConfiguration.getFlushInterval());
+        StreamReadOptions readOptions = StreamReadOptions.empty()
+                .count(statsConsumerBatchConfiguration.getBatchSize())
+                .block(Duration.ofMillis(pollTimeout));
+        // 启动、写入失败及认领到消息后先处理本消费者已拉取未确认的消息，处理完再拉取新消息
+        boolean pending = true;
+        boolean claimed = false;
+        String claimCursor = CLAIM_START_ID;
+        long nextClaimTime = 0L;
+        while (running) {
+            try {
+                if (lease != null) {
+                    if (!lease.isHeldByCurrentThread()) {
+                        // 未确认的合并消息已由新的租约持有者接管，直接丢弃避免重复写入
+                        log.warn("短链接统计分区租约已丢失，停止消费：{}", streamKey);
+                        return;
+                    }
+                    // 持有租约后分区内不会有其它消费者，无需等待空闲超时即可接管上一持有者的全部待处理消息
+                    if (!claimed) {
+                        claimAll(streamKey, consumerName);
+                        shortLinkStatsStreamConsumerCleaner.cleanup(streamKey, consumerName);
+                        claimed = true;
+                    }
+                } else if (System.currentTimeMillis() >= nextClaimTime) {
+                    List<?> claimResult = claim(streamKey, consumerName, statsConsumerConfiguration.getClaimIdleTime(), claimCursor);
+                    claimCursor = String.valueOf(claimResult.get(0));
+                    if (((Number) claimResult.get(1)).longValue() > 0) {
+                        // 从头读取待处理列表前先写入合并中的消息，避免其被再次读取重复合并
+                        flush(streamKey, buffer);
+                        pending = true;
+                    }
+                    // 游标回到起点说明已扫描完整个待处理列表，清理消息已被认领的旧消费者后等待下一个认领周期
+                    if (Objects.equals(claimCursor, CLAIM_START_ID)) {
+                        shortLinkStatsStreamConsumerCleaner.cleanup(streamKey, consumerName);
+                        nextClaimTime = System.currentTimeMillis() + statsConsumerConfiguration.getClaimInterval();
+                    }
+                }
+                if (buffer != null && buffer.isFlushDue()) {
+                    flush(streamKey, buffer);
+                }
+                ReadOffset readOffset = pending ? ReadOffset.from("0") : ReadOffset.lastConsumed();
+                // read 的 StreamOffset 参数为泛型可变参数，只传入单个元素且方法内不写入该数组，泛型数组创建是安全的
+                @SuppressWarnings("unchecked")
+                List<MapRecord<String, String, String>> records = stringRedisTemplate.<String, String>opsForStream()
+                        .read(consumer, readOptions, StreamOffset.create(streamKey, readOffset));
+                if (records == null || records.isEmpty()) {
+                    pending = false;
+                    continue;
+                }
+                // 待处理列表中的消息直接写入并确认，合并缓冲只接收新消息
+                if (pending) {
+                    savePending(streamKey, records);
+                    continue;
+                }
+                if (buffer == null) {
+                    save(streamKey, records);
+                    continue;
+                }
+                aggregate(streamKey, records, buffer);
+                if (buffer.statsBatch.size() >= statsWriteBehindConfiguration.getFlushSize()) {
+                    flush(streamKey, buffer);
+                }
+            } catch (Throwable ex) {
+                if (buffer != null) {
+                    buffer.reset();
+                }
+                if (!running) {
+                    return;
+                }
+                log.error("短链接统计批量消费异常，消费者：{}", consumerName, ex);
+                pending = true;
+                sleep();
+            }
+        }
+        if (buffer != null && !buffer.recordIds.isEmpty() && (lease == null || lease.isHeldByCurrentThread())) {
+            // 停止时清除中断标识后写入合并中的消息，写入失败的消息留在待处理列表中由其它消费者认领
+            Thread.interrupted();
+            try {
+                flush(streamKey, buffer);
+            } catch (Throwable ex) {
+                log.error("短链接统计合并写入停止前刷新失败，消费者：{}", consumerName, ex);
+            }
+        }
+    }
+
+    private void claimAll(String streamKey, String consumerName) {
+        String cursor = CLAIM_START_ID;
+        do {
+            cursor = String.valueOf(claim(streamKey, consumerName, 0L, cursor).get(0));
+        } while (!Objects.equals(cursor, CLAIM_START_ID));
+    }
+
+    /**
+     * 认领空闲超时的待处理消息
+     *
+     * @param streamKey    消息队列 Key
+     * @param consumerName 认领的消费者名称
+     * @param minIdleTime  最小空闲时间，单位：毫秒
+     * @param cursor       扫描起始 ID
+     * @return 下一次扫描起始 ID 及本次认领数量
+     */
+    private List<?> claim(String streamKey, String consumerName, long minIdleTime, String cursor) {
+        return stringRedisTemplate.execute(
+                autoClaimScript,
+                List.of(streamKey),
+                SHORT_LINK_STATS_STREAM_GROUP_KEY,
+                consumerName,
+                String.valueOf(minIdleTime),
+                cursor,
+                String.valueOf(statsConsumerBatchConfiguration.getBatchSize())
+        );
+    }
+
+    private void save(String streamKey, List<MapRecord<String, String, String>> records) {
+        List<RecordId> recordIds = new ArrayList<>(records.size());
+        List<ShortLinkStatsRecordDTO> statsRecords = decode(streamKey, records, recordIds);
+        if (!statsRecords.isEmpty()) {
+            shortLinkStatsSaveConsumer.actualSaveShortLinkStats(statsRecords);
+        }
+        accomplish(streamKey, recordIds);
+        acknowledge(streamKey, recordIds);
+    }
+
+    /**
+     * 保存重新拉取的待处理消息，投递次数未超过上限时写入失败直接抛出等待重试，超过上限后二分拆批定位异常消息
+     */
+    private void savePending(String streamKey, List<MapRecord<String, String, String>> records) {
+        try {
+            save(streamKey, records);
+        } catch (Throwable ex) {
+            if (maxDeliveryCount(streamKey, records) < statsConsumerBatchConfiguration.getMaxDeliveryCount()) {
+                throw ex;
+            }
+            log.warn("短链接统计消息超过最大投递次数，拆批定位异常消息，消息数量：{}", records.size(), ex);
+            bisect(streamKey, records);
+        }
+    }
+
+    private void bisect(String streamKey, List<MapRecord<String, String, String>> records) {
+        if (records.size() == 1) {
+            deadLetter(streamKey, records.get(0));
+            return;
+        }
+        int middle = records.size() / 2;
+        for (List<MapRecord<String, String, String>> each : List.of(records.subList(0, middle), records.subList(middle, records.size()))) {
+            try {
+                save(streamKey, each);
+            } catch (Throwable ex) {
+                bisect(streamKey, each);
+            }
+        }
+    }
+
+    private long maxDeliveryCount(String streamKey, List<MapRecord<String, String, String>> records) {
+        PendingMessages pendingMessages = stringRedisTemplate.opsForStream().pending(
+                streamKey,
+                SHORT_LINK_STATS_STREAM_GROUP_KEY,
+                Range.closed(records.get(0).getId().getValue(), records.get(records.size() - 1).getId().getValue()),
+                records.size()
+        );
+        long maxDeliveryCount = 0L;
+        for (PendingMessage each : pendingMessages) {
+            maxDeliveryCount = Math.max(maxDeliveryCount, each.getTotalDeliveryCount());
+        }
+        return maxDeliveryCount;
+    }
+
+    /**
+     * 单条消息仍无法写入时转入死信队列并确认，保留原始消息内容及来源便于排查后重新投递
+     */
+    private void deadLetter(String streamKey, MapRecord<String, String, String> record) {
+        Map<String, String> deadLetter = new HashMap<>(record.getValue());
+        deadLetter.put("sourceStream", streamKey);
+        deadLetter.put("sourceId", record.getId().getValue());
+        stringRedisTemplate.opsForStream().add(SHORT_LINK_STATS_STREAM_DEAD_LETTER_KEY, deadLetter);
+        acknowledge(streamKey, List.of(record.getId()));
+        log.error("短链接统计消息多次写入失败，已转入死信队列：{}", record.getId());
+    }
+
+    private void aggregate(String streamKey, List<MapRecord<String, String, String>> records, WriteBehindBuffer buffer) {
+        List<RecordId> recordIds = new ArrayList<>(records.size());
+        List<ShortLinkStatsRecordDTO> statsRecords = decode(streamKey, records, recordIds);
+        if (!statsRecords.isEmpty()) {
+            shortLinkStatsSaveConsumer.aggregateShortLinkStats(buffer.statsBatch, statsRecords);
+        }
+        if (buffer.recordIds.isEmpty()) {
+            buffer.flushDeadline = System.currentTimeMillis() + statsWriteBehindConfiguration.getFlushInterval();
+        }
+        buffer.recordIds.addAll(recordIds);
+    }
+
+    private void flush(String streamKey, WriteBehindBuffer buffer) {
+        if (buffer == null || buffer.recordIds.isEmpty()) {
+            return;
+        }
+        if (!buffer.statsBatch.isEmpty()) {
+            shortLinkStatsSaveConsumer.flushShortLinkStats(buffer.statsBatch);
+        }
+        accomplish(streamKey, buffer.recordIds);
+        acknowledge(streamKey, buffer.recordIds);
+        buffer.reset();
+    }
+
+    /**
+     * 解析统计消息，跳过已写入但确认前中断而被重新投递的消息
+     */
+    private List<ShortLinkStatsRecordDTO> decode(String streamKey, List<MapRecord<String, String, String>> records, List<RecordId> recordIds) {
+        List<Boolean> accomplished = messageQueueIdempotentHandler.isAccomplish(
+                records.stream().map(each -> messageId(streamKey, each.getId())).toList()
+        );
+        List<ShortLinkStatsRecordDTO> statsRecords = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            MapRecord<String, String, String> each = records.get(i);
+            recordIds.add(each.getId());
+            if (accomplished.get(i)) {
+                log.warn("短链接统计消息已写入，跳过重复消费：{}", each.getId());
+                continue;
+            }
+            try {
+                statsRecords.add(ShortLinkStatsRecordCodec.decode(each.getValue()));
+            } catch (Throwable ex) {
+                log.error("短链接统计消息解析失败，丢弃消息：{}", each.getId(), ex);
+            }
+        }
+        return statsRecords;
+    }
+
+    /**
+     * 写入事务提交后、确认消息前记录幂等标识，确认失败重新投递时不会重复累加
+     */
+    private void accomplish(String streamKey, List<RecordId> recordIds) {
+        messageQueueIdempotentHandler.setAccomplish(recordIds.stream().map(each -> messageId(streamKey, each)).toList());
+    }
+
+    /**
+     * 不同分区的消息 ID 可能相同，幂等标识需带上所属 Stream
+     */
+    private String messageId(String streamKey, RecordId recordId) {
+        return streamKey + ":" + recordId;
+    }
+
+    private void acknowledge(String streamKey, List<RecordId> recordIds) {
+        RecordId[] ids = recordIds.toArray(RecordId[]::new);
+        stringRedisTemplate.opsForStream().acknowledge(streamKey, SHORT_LINK_STATS_STREAM_GROUP_KEY, ids);
+        stringRedisTemplate.opsForStream().delete(streamKey, ids);
+    }
+
+    private void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RETRY_INTERVAL);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 消费线程内的合并写入缓冲，记录已合并但尚未确认的消息
+     */
+    private class WriteBehindBuffer {
+
+        private ShortLinkStatsBatch statsBatch = new ShortLinkStatsBatch(shortLinkIpRegionSearcher);
+
+        private final List<RecordId> recordIds = new ArrayList<>();
+
+        private long flushDeadline;
+
+        private boolean isFlushDue() {
+            return !recordIds.isEmpty() && System.currentTimeMillis() >= flushDeadline;
+        }
+
+        private void reset() {
+            statsBatch = new ShortLinkStatsBatch(shortLinkIpRegionSearcher);
+            recordIds.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        consumeThreads.forEach(Thread::interrupt);
+    }
+}
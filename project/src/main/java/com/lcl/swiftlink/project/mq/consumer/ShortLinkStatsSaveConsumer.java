@@ -17,14 +17,11 @@
 
 package com.lcl.swiftlink.project.mq.consumer;
 
-import cn.hutool.core.date.DateUtil;
-import cn.hutool.core.date.Week;
-import cn.hutool.core.util.StrUtil;
-import cn.hutool.http.HttpUtil;
-import com.alibaba.fastjson2.JSON;
-import com.alibaba.fastjson2.JSONObject;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.mq.codec.ShortLinkStatsRecordCodec;
+import com.lcl.swiftlink.common.stats.ShortLinkIpRegionSearcher;
 import com.lcl.swiftlink.project.common.convention.exception.ServiceException;
 import com.lcl.swiftlink.project.dao.entity.LinkAccessLogsDO;
 import com.lcl.swiftlink.project.dao.entity.LinkAccessStatsDO;
@@ -34,6 +31,7 @@ import com.lcl.swiftlink.project.dao.entity.LinkLocaleStatsDO;
 import com.lcl.swiftlink.project.dao.entity.LinkNetworkStatsDO;
 import com.lcl.swiftlink.project.dao.entity.LinkOsStatsDO;
 import com.lcl.swiftlink.project.dao.entity.LinkStatsTodayDO;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
 import com.lcl.swiftlink.project.dao.entity.ShortLinkGotoDO;
 import com.lcl.swiftlink.project.dao.mapper.LinkAccessLogsMapper;
 import com.lcl.swiftlink.project.dao.mapper.LinkAccessStatsMapper;
@@ -45,15 +43,10 @@ import com.lcl.swiftlink.project.dao.mapper.LinkOsStatsMapper;
 import com.lcl.swiftlink.project.dao.mapper.LinkStatsTodayMapper;
 import com.lcl.swiftlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.lcl.swiftlink.project.dao.mapper.ShortLinkMapper;
-import com.lcl.swiftlink.project.dto.biz.ShortLinkStatsRecordDTO;
 import com.lcl.swiftlink.project.mq.idempotent.MessageQueueIdempotentHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.RLock;
-import org.redisson.api.RReadWriteLock;
-import org.redisson.api.RedissonClient;
 import org.springframework.aop.framework.AopContext;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -61,13 +54,10 @@ import org.springframework.data.redis.stream.StreamListener;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-
-import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.LOCK_GID_UPDATE_KEY;
-import static com.lcl.swiftlink.project.common.constant.ShortLinkConstant.AMAP_REMOTE_URL;
+import java.util.stream.Collectors;
 
 /**
  * 短链接监控状态保存消息队列消费者
@@ -79,7 +69,6 @@ public class ShortLinkStatsSaveConsumer implements StreamListener<String, MapRec
 
     private final ShortLinkMapper shortLinkMapper;
     private final ShortLinkGotoMapper shortLinkGotoMapper;
-    private final RedissonClient redissonClient;
     private final LinkAccessStatsMapper linkAccessStatsMapper;
     private final LinkLocaleStatsMapper linkLocaleStatsMapper;
     private final LinkOsStatsMapper linkOsStatsMapper;
@@ -90,137 +79,158 @@ public class ShortLinkStatsSaveConsumer implements StreamListener<String, MapRec
     private final LinkStatsTodayMapper linkStatsTodayMapper;
     private final StringRedisTemplate stringRedisTemplate;
     private final MessageQueueIdempotentHandler messageQueueIdempotentHandler;
-
-    @Value("${short-link.stats.locale.amap-key}")
-    private String statsLocaleAmapKey;
+    private final ShortLinkIpRegionSearcher shortLinkIpRegionSearcher;
 
 
     @Override
     public void onMessage(MapRecord<String, String, String> message) {
         String stream = message.getStream();
         RecordId id = message.getId();
-        if (messageQueueIdempotentHandler.isMessageBeingConsumed(id.toString())) {
+        // 不同分区的消息 ID 可能相同，幂等标识需带上所属 Stream
+        String messageId = stream + ":" + id;
+        if (messageQueueIdempotentHandler.isMessageBeingConsumed(messageId)) {
             // 判断当前的这个消息流程是否执行完成
-            if (messageQueueIdempotentHandler.isAccomplish(id.toString())) {
+            if (messageQueueIdempotentHandler.isAccomplish(messageId)) {
                 return;
             }
             throw new ServiceException("消息未完成流程，需要消息队列重试");
         }
         try {
-            Map<String, String> producerMap = message.getValue();
-            ShortLinkStatsRecordDTO statsRecord = JSON.parseObject(producerMap.get("statsRecord"), ShortLinkStatsRecordDTO.class);
+            ShortLinkStatsRecordDTO statsRecord = ShortLinkStatsRecordCodec.decode(message.getValue());
             ShortLinkStatsSaveConsumer proxy = (ShortLinkStatsSaveConsumer)AopContext.currentProxy();
             proxy.actualSaveShortLinkStats(statsRecord);
 //            actualSaveShortLinkStats(statsRecord);
             stringRedisTemplate.opsForStream().delete(Objects.requireNonNull(stream), id.getValue());
         } catch (Throwable ex) {
             // 宕机了
-            messageQueueIdempotentHandler.delMessageProcessed(id.toString());
+            messageQueueIdempotentHandler.delMessageProcessed(messageId);
             log.error("记录短链接监控消费异常", ex);
             throw ex;
         }
-        messageQueueIdempotentHandler.setAccomplish(id.toString());
+        messageQueueIdempotentHandler.setAccomplish(messageId);
     }
 
     @Transactional(rollbackFor = Exception.class)
     public void actualSaveShortLinkStats(ShortLinkStatsRecordDTO statsRecord) {
-        String fullShortUrl = statsRecord.getFullShortUrl();
-        RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(String.format(LOCK_GID_UPDATE_KEY, fullShortUrl));
-        RLock rLock = readWriteLock.readLock();
-        rLock.lock();
-        try {
-            LambdaQueryWrapper<ShortLinkGotoDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
-                    .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
-            ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(queryWrapper);
-            String gid = shortLinkGotoDO.getGid();
-            Date currentDate = statsRecord.getCurrentDate();
-            int hour = DateUtil.hour(currentDate, true);
-            Week week = DateUtil.dayOfWeekEnum(currentDate);
-            int weekValue = week.getIso8601Value();
-            LinkAccessStatsDO linkAccessStatsDO = LinkAccessStatsDO.builder()
-                    .pv(1)
-                    .uv(statsRecord.getUvFirstFlag() ? 1 : 0)
-                    .uip(statsRecord.getUipFirstFlag() ? 1 : 0)
-                    .hour(hour)
-                    .weekday(weekValue)
-                    .fullShortUrl(fullShortUrl)
-                    .date(currentDate)
-                    .build();
-            linkAccessStatsMapper.shortLinkStats(linkAccessStatsDO);
-            Map<String, Object> localeParamMap = new HashMap<>();
-            localeParamMap.put("key", statsLocaleAmapKey);
-            localeParamMap.put("ip", statsRecord.getRemoteAddr());
-            String localeResultStr = HttpUtil.get(AMAP_REMOTE_URL, localeParamMap);
-            JSONObject localeResultObj = JSON.parseObject(localeResultStr);
-            String infoCode = localeResultObj.getString("infocode");
-            infoCode = new String("10000");
-            String actualProvince = new String("广东省");
-            String actualCity = new String("广州市");
-            if (StrUtil.isNotBlank(infoCode) && StrUtil.equals(infoCode, "10000")) {
-                String province = localeResultObj.getString("province");
-                boolean unknownFlag = StrUtil.equals(province, "[]");
-                unknownFlag = true;
-                LinkLocaleStatsDO linkLocaleStatsDO = LinkLocaleStatsDO.builder()
-                        .province(actualProvince = unknownFlag ? actualProvince : province)
-                        .city(actualCity = unknownFlag ? actualCity : localeResultObj.getString("city"))
-                        .adcode(unknownFlag ? new String("440106") : localeResultObj.getString("adcode"))
-                        .cnt(1)
-                        .fullShortUrl(fullShortUrl)
-                        .country("中国")
-                        .date(currentDate)
-                        .build();
-                linkLocaleStatsMapper.shortLinkLocaleState(linkLocaleStatsDO);
+        actualSaveShortLinkStats(List.of(statsRecord));
+    }
+
+    /**
+     * 批量保存短链接统计，同一事务内每张统计表执行一条多行写入
+     *
+     * @param statsRecords 短链接统计实体集合
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void actualSaveShortLinkStats(List<ShortLinkStatsRecordDTO> statsRecords) {
+        List<String> fullShortUrls = statsRecords.stream()
+                .map(ShortLinkStatsRecordDTO::getFullShortUrl)
+                .distinct()
+                .toList();
+        ShortLinkStatsBatch statsBatch = new ShortLinkStatsBatch(shortLinkIpRegionSearcher);
+        addStatsRecords(statsBatch, statsRecords, selectGidMap(fullShortUrls, true));
+        saveStatsBatch(statsBatch);
+    }
+
+    /**
+     * 将统计消息合并到写入缓冲，不写入数据库，历史统计所属分组在写入时重新查询，此处只过滤已删除的短链接
+     *
+     * @param statsBatch   统计写入缓冲
+     * @param statsRecords 短链接统计实体集合
+     */
+    public void aggregateShortLinkStats(ShortLinkStatsBatch statsBatch, List<ShortLinkStatsRecordDTO> statsRecords) {
+        List<String> fullShortUrls = statsRecords.stream()
+                .map(ShortLinkStatsRecordDTO::getFullShortUrl)
+                .distinct()
+                .toList();
+        addStatsRecords(statsBatch, statsRecords, selectGidMap(fullShortUrls, false));
+    }
+
+    private void addStatsRecords(ShortLinkStatsBatch statsBatch, List<ShortLinkStatsRecordDTO> statsRecords, Map<String, String> gidMap) {
+        for (ShortLinkStatsRecordDTO each : statsRecords) {
+            String gid = gidMap.get(each.getFullShortUrl());
+            if (gid == null) {
+                log.warn("短链接跳转记录不存在，忽略统计消息，短链接：{}", each.getFullShortUrl());
+                continue;
             }
-            LinkOsStatsDO linkOsStatsDO = LinkOsStatsDO.builder()
-                    .os(statsRecord.getOs())
-                    .cnt(1)
-                    .fullShortUrl(fullShortUrl)
-                    .date(currentDate)
-                    .build();
-            linkOsStatsMapper.shortLinkOsState(linkOsStatsDO);
-            LinkBrowserStatsDO linkBrowserStatsDO = LinkBrowserStatsDO.builder()
-                    .browser(statsRecord.getBrowser())
-                    .cnt(1)
-                    .fullShortUrl(fullShortUrl)
-                    .date(currentDate)
-                    .build();
-            linkBrowserStatsMapper.shortLinkBrowserState(linkBrowserStatsDO);
-            LinkDeviceStatsDO linkDeviceStatsDO = LinkDeviceStatsDO.builder()
-                    .device(statsRecord.getDevice())
-                    .cnt(1)
-                    .fullShortUrl(fullShortUrl)
-                    .date(currentDate)
-                    .build();
-            linkDeviceStatsMapper.shortLinkDeviceState(linkDeviceStatsDO);
-            LinkNetworkStatsDO linkNetworkStatsDO = LinkNetworkStatsDO.builder()
-                    .network(statsRecord.getNetwork())
-                    .cnt(1)
-                    .fullShortUrl(fullShortUrl)
-                    .date(currentDate)
-                    .build();
-            linkNetworkStatsMapper.shortLinkNetworkState(linkNetworkStatsDO);
-            LinkAccessLogsDO linkAccessLogsDO = LinkAccessLogsDO.builder()
-                    .user(statsRecord.getUv())
-                    .ip(statsRecord.getRemoteAddr())
-                    .browser(statsRecord.getBrowser())
-                    .os(statsRecord.getOs())
-                    .network(statsRecord.getNetwork())
-                    .device(statsRecord.getDevice())
-                    .locale(StrUtil.join("-", "中国", actualProvince, actualCity))
-                    .fullShortUrl(fullShortUrl)
-                    .build();
-            linkAccessLogsMapper.insert(linkAccessLogsDO);
-            shortLinkMapper.incrementStats(gid, fullShortUrl, 1, statsRecord.getUvFirstFlag() ? 1 : 0, statsRecord.getUipFirstFlag() ? 1 : 0);
-            LinkStatsTodayDO linkStatsTodayDO = LinkStatsTodayDO.builder()
-                    .todayPv(1)
-                    .todayUv(statsRecord.getUvFirstFlag() ? 1 : 0)
-                    .todayUip(statsRecord.getUipFirstFlag() ? 1 : 0)
-                    .fullShortUrl(fullShortUrl)
-                    .date(currentDate)
-                    .build();
-            linkStatsTodayMapper.shortLinkTodayState(linkStatsTodayDO);
-        } finally {
-            rLock.unlock();
+            statsBatch.add(each, gid);
+        }
+    }
+
+    /**
+     * 写入跨多次拉取合并的统计缓冲
+     * 合并期间短链接可能已修改分组，写入前重新加锁查询历史统计所属分组，已删除的短链接不再累加历史统计
+     *
+     * @param statsBatch 统计写入缓冲
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void flushShortLinkStats(ShortLinkStatsBatch statsBatch) {
+        List<String> fullShortUrls = statsBatch.getLinkTotals().stream()
+                .map(ShortLinkDO::getFullShortUrl)
+                .distinct()
+                .toList();
+        if (fullShortUrls.isEmpty()) {
+            saveStatsBatch(statsBatch);
+            return;
+        }
+        Map<String, String> gidMap = selectGidMap(fullShortUrls, true);
+        statsBatch.getLinkTotals().removeIf(each -> {
+            String gid = gidMap.get(each.getFullShortUrl());
+            each.setGid(gid);
+            return gid == null;
+        });
+        saveStatsBatch(statsBatch);
+    }
+
+    /**
+     * 查询短链接当前分组标识
+     * 加锁查询时对跳转记录加共享锁直到事务结束，修改分组需先对跳转记录加排他锁，保证历史统计累加到修改分组前后的同一条记录上
+     *
+     * @param fullShortUrls 完整短链接集合
+     * @param lockRead      是否加共享锁，需在事务内调用
+     * @return 完整短链接与分组标识映射
+     */
+    private Map<String, String> selectGidMap(List<String> fullShortUrls, boolean lockRead) {
+        LambdaQueryWrapper<ShortLinkGotoDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                .in(ShortLinkGotoDO::getFullShortUrl, fullShortUrls)
+                .last(lockRead, "LOCK IN SHARE MODE");
+        return shortLinkGotoMapper.selectList(queryWrapper).stream()
+                .collect(Collectors.toMap(ShortLinkGotoDO::getFullShortUrl, ShortLinkGotoDO::getGid, (exist, each) -> exist));
+    }
+
+    private void saveStatsBatch(ShortLinkStatsBatch statsBatch) {
+        List<LinkAccessStatsDO> accessStats = statsBatch.getAccessStats();
+        if (!accessStats.isEmpty()) {
+            linkAccessStatsMapper.shortLinkStatsBatch(accessStats);
+        }
+        List<LinkLocaleStatsDO> localeStats = statsBatch.getLocaleStats();
+        if (!localeStats.isEmpty()) {
+            linkLocaleStatsMapper.shortLinkLocaleStateBatch(localeStats);
+        }
+        List<LinkOsStatsDO> osStats = statsBatch.getOsStats();
+        if (!osStats.isEmpty()) {
+            linkOsStatsMapper.shortLinkOsStateBatch(osStats);
+        }
+        List<LinkBrowserStatsDO> browserStats = statsBatch.getBrowserStats();
+        if (!browserStats.isEmpty()) {
+            linkBrowserStatsMapper.shortLinkBrowserStateBatch(browserStats);
+        }
+        List<LinkDeviceStatsDO> deviceStats = statsBatch.getDeviceStats();
+        if (!deviceStats.isEmpty()) {
+            linkDeviceStatsMapper.shortLinkDeviceStateBatch(deviceStats);
+        }
+        List<LinkNetworkStatsDO> networkStats = statsBatch.getNetworkStats();
+        if (!networkStats.isEmpty()) {
+            linkNetworkStatsMapper.shortLinkNetworkStateBatch(networkStats);
+        }
+        // 短链接表按分组分表，逐个短链接累加历史统计
+        statsBatch.getLinkTotals().forEach(each -> shortLinkMapper.incrementStats(each.getGid(), each.getFullShortUrl(), each.getTotalPv(), each.getTotalUv(), each.getTotalUip()));
+        List<LinkStatsTodayDO> todayStats = statsBatch.getTodayStats();
+        if (!todayStats.isEmpty()) {
+            linkStatsTodayMapper.shortLinkTodayStateBatch(todayStats);
+        }
+        List<LinkAccessLogsDO> accessLogs = statsBatch.getAccessLogs();
+        if (!accessLogs.isEmpty()) {
+            linkAccessLogsMapper.insertBatch(accessLogs);
         }
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.consumer;
+
+import com.lcl.swiftlink.project.config.StatsConsumerConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_GROUP_KEY;
+
+/**
+ * 短链接统计消费者组清理
+ * 消费者名称包含进程号，实例每次重启都会产生新名称，空闲超过认领时间且没有待处理消息的消费者通过 XGROUP DELCONSUMER 删除
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsStreamConsumerCleaner implements InitializingBean {
+
+    private static final String STATS_STREAM_CONSUMER_CLEANUP_LUA_SCRIPT_PATH = "lua/stats_stream_consumer_cleanup.lua";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StatsConsumerConfiguration statsConsumerConfiguration;
+
+    private DefaultRedisScript<Long> cleanupScript;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        cleanupScript = new DefaultRedisScript<>();
+        cleanupScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(STATS_STREAM_CONSUMER_CLEANUP_LUA_SCRIPT_PATH)));
+        cleanupScript.setResultType(Long.class);
+    }
+
+    /**
+     * 删除空闲超时且没有待处理消息的消费者，清理失败不影响消费
+     *
+     * @param streamKey    消息队列 Key
+     * @param consumerName 当前消费者名称，不会被删除，为空时表示不排除任何消费者
+     */
+    public void cleanup(String streamKey, String consumerName) {
+        try {
+            Long deleted = stringRedisTemplate.execute(
+                    cleanupScript,
+                    List.of(streamKey),
+                    SHORT_LINK_STATS_STREAM_GROUP_KEY,
+                    consumerName == null ? "" : consumerName,
+                    String.valueOf(statsConsumerConfiguration.getClaimIdleTime())
+            );
+            if (deleted != null && deleted > 0L) {
+                log.info("短链接统计消费者组清理空闲消费者 {} 个：{}", deleted, streamKey);
+            }
+        } catch (Throwable ex) {
+            log.warn("短链接统计消费者组清理失败：{}", streamKey, ex);
+        }
+    }
+}
@@ -18,9 +18,15 @@
 package com.lcl.swiftlink.project.mq.idempotent;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
@@ -67,6 +73,40 @@ public class MessageQueueIdempotentHandler {
         stringRedisTemplate.opsForValue().set(key, "1", 2, TimeUnit.MINUTES);
     }
 
+    /**
+     * 批量判断消息消费流程是否执行完成
+     *
+     * @param messageIds 消息唯一标识集合
+     * @return 与消息唯一标识一一对应的是否执行完成
+     */
+    public List<Boolean> isAccomplish(List<String> messageIds) {
+        List<String> keys = messageIds.stream().map(each -> IDEMPOTENT_KEY_PREFIX + each).toList();
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        List<Boolean> result = new ArrayList<>(messageIds.size());
+        for (int i = 0; i < messageIds.size(); i++) {
+            result.add(values != null && Objects.equals(values.get(i), "1"));
+        }
+        return result;
+    }
+
+    /**
+     * 批量设置消息流程执行完成
+     *
+     * @param messageIds 消息唯一标识集合
+     */
+    public void setAccomplish(Collection<String> messageIds) {
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, String> redisOperations = (RedisOperations<String, String>) operations;
+                messageIds.forEach(each -> redisOperations.opsForValue().set(IDEMPOTENT_KEY_PREFIX + each, "1", 2, TimeUnit.MINUTES));
+                return null;
+            }
+        });
+    }
+
     /**
      * 如果消息处理遇到异常情况，删除幂等标识
      *
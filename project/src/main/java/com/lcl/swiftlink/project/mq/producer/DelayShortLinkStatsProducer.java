@@ -18,7 +18,7 @@
 package com.lcl.swiftlink.project.mq.producer;
 
 import cn.hutool.core.lang.UUID;
-import com.lcl.swiftlink.project.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
 import lombok.RequiredArgsConstructor;
 import org.redisson.api.RBlockingDeque;
 import org.redisson.api.RDelayedQueue;
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.producer;
+
+import com.lcl.swiftlink.project.cache.ShortLinkGotoBloomFilterReplica;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_BLOOM_FILTER_REPLICA_ADD_CHANNEL;
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_BLOOM_FILTER_REPLICA_ADD_SEQUENCE_KEY;
+
+/**
+ * 短链接跳转布隆过滤器本地副本追加消息生产者
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoBloomFilterAddProducer {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkGotoBloomFilterReplica shortLinkGotoBloomFilterReplica;
+
+    /**
+     * 广播消息中追加序号与短链接的分隔符
+     */
+    public static final String SEQUENCE_SEPARATOR = "|";
+
+    /**
+     * 追加当前节点本地副本，并携带全局递增序号广播通知所有节点追加，节点据序号连续性发现丢失的广播
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void send(String fullShortUrl) {
+        shortLinkGotoBloomFilterReplica.add(fullShortUrl);
+        Long sequence = stringRedisTemplate.opsForValue().increment(GOTO_BLOOM_FILTER_REPLICA_ADD_SEQUENCE_KEY);
+        stringRedisTemplate.convertAndSend(GOTO_BLOOM_FILTER_REPLICA_ADD_CHANNEL, sequence + SEQUENCE_SEPARATOR + fullShortUrl);
+    }
+}
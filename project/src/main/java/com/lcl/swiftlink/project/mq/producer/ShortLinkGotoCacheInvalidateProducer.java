@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.producer;
+
+import com.lcl.swiftlink.project.cache.ShortLinkGotoLocalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_LOCAL_CACHE_INVALIDATE_CHANNEL;
+
+/**
+ * 短链接跳转本地缓存失效消息生产者
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoCacheInvalidateProducer {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+
+    /**
+     * 删除当前节点本地缓存，并广播通知其它节点删除
+     * 在事务中调用时延迟到事务提交后执行，避免其它节点在提交前重新加载到旧数据
+     *
+     * @param fullShortUrl 完整短链接
+     */
+    public void send(String fullShortUrl) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(fullShortUrl);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(fullShortUrl);
+            }
+        });
+    }
+
+    private void invalidate(String fullShortUrl) {
+        shortLinkGotoLocalCache.invalidate(fullShortUrl);
+        stringRedisTemplate.convertAndSend(GOTO_LOCAL_CACHE_INVALIDATE_CHANNEL, fullShortUrl);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.resolver;
+
+import cn.hutool.core.util.StrUtil;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoHotKeyDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热点 Key 解析阶段，记录每次访问并直接返回常驻本地的热点短链接
+ */
+@Order(50)
+@Component
+@RequiredArgsConstructor
+public class HotKeyGotoResolveStage implements ShortLinkGotoResolveStage {
+
+    private final ShortLinkGotoHotKeyDetector shortLinkGotoHotKeyDetector;
+
+    @Override
+    public String name() {
+        return "hot-key";
+    }
+
+    @Override
+    public ShortLinkGotoResolveResult resolve(String fullShortUrl) {
+        shortLinkGotoHotKeyDetector.record(fullShortUrl);
+        String cacheValue = shortLinkGotoHotKeyDetector.getPinned(fullShortUrl);
+        return StrUtil.isNotBlank(cacheValue) ? ShortLinkGotoResolveResult.found(cacheValue) : null;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.resolver;
+
+import cn.hutool.core.util.StrUtil;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoLocalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地缓存解析阶段
+ */
+@Order(100)
+@Component
+@RequiredArgsConstructor
+public class LocalCacheGotoResolveStage implements ShortLinkGotoResolveStage {
+
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+
+    @Override
+    public String name() {
+        return "local-cache";
+    }
+
+    @Override
+    public ShortLinkGotoResolveResult resolve(String fullShortUrl) {
+        String cacheValue = shortLinkGotoLocalCache.get(fullShortUrl);
+        return StrUtil.isNotBlank(cacheValue) ? ShortLinkGotoResolveResult.found(cacheValue) : null;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.resolver;
+
+import com.lcl.swiftlink.common.enums.GotoCacheLookupStatusEnum;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoCacheLoader;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoCacheLookup;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoCacheLookupResult;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoCacheRefresher;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoLocalCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 解析阶段
+ * 跳转缓存、布隆过滤器与空值缓存通过一次脚本调用完成判断，布隆过滤器本地副本可用时在本地判断
+ */
+@Order(200)
+@Component
+@RequiredArgsConstructor
+public class RedisGotoResolveStage implements ShortLinkGotoResolveStage {
+
+    private final ShortLinkGotoCacheLookup shortLinkGotoCacheLookup;
+    private final ShortLinkGotoLocalCache shortLinkGotoLocalCache;
+    private final ShortLinkGotoCacheRefresher shortLinkGotoCacheRefresher;
+    private final ShortLinkGotoCacheLoader shortLinkGotoCacheLoader;
+
+    @Override
+    public String name() {
+        return "redis";
+    }
+
+    @Override
+    public ShortLinkGotoResolveResult resolve(String fullShortUrl) {
+        ShortLinkGotoCacheLookupResult lookupResult = shortLinkGotoCacheLookup.lookup(fullShortUrl);
+        if (lookupResult.getStatus() == GotoCacheLookupStatusEnum.HIT) {
+            // 软过期后仍直接返回旧值，由后台线程回源刷新
+            if (lookupResult.isStale()) {
+                shortLinkGotoCacheRefresher.refresh(fullShortUrl, () -> shortLinkGotoCacheLoader.refresh(fullShortUrl));
+            }
+            shortLinkGotoLocalCache.put(fullShortUrl, lookupResult.getCacheValue(), lookupResult.getExpireDate());
+            return ShortLinkGotoResolveResult.found(lookupResult.getCacheValue());
+        }
+        if (lookupResult.getStatus() == GotoCacheLookupStatusEnum.NOT_FOUND) {
+            return ShortLinkGotoResolveResult.notFound();
+        }
+        return null;
+    }
+}
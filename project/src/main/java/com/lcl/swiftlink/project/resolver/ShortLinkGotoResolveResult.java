@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.resolver;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 短链接跳转解析结果
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ShortLinkGotoResolveResult {
+
+    private static final ShortLinkGotoResolveResult NOT_FOUND = new ShortLinkGotoResolveResult(null);
+
+    /**
+     * 跳转缓存值，包含原始链接及统计级别，短链接不存在时为空
+     */
+    private final String cacheValue;
+
+    public static ShortLinkGotoResolveResult found(String cacheValue) {
+        return new ShortLinkGotoResolveResult(cacheValue);
+    }
+
+    public static ShortLinkGotoResolveResult notFound() {
+        return NOT_FOUND;
+    }
+
+    public boolean isFound() {
+        return cacheValue != null;
+    }
+}
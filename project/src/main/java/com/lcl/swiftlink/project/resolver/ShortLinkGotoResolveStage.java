@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.resolver;
+
+/**
+ * 短链接跳转解析阶段
+ * 各阶段按 {@link org.springframework.core.annotation.Order} 顺序组成解析链，当前阶段无法判断时交给下一阶段
+ */
+public interface ShortLinkGotoResolveStage {
+
+    /**
+     * 阶段名称，用于耗时统计
+     */
+    String name();
+
+    /**
+     * 解析短链接
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 解析结果，返回 null 表示交给下一阶段
+     */
+    ShortLinkGotoResolveResult resolve(String fullShortUrl);
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.resolver;
+
+import com.lcl.swiftlink.common.cache.ShortLinkGotoCacheValue;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkGotoResolveStageStatsRespDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 短链接跳转解析链
+ * 按顺序执行本地缓存、Redis、数据库等解析阶段，并统计各阶段耗时
+ */
+@Component
+public class ShortLinkGotoResolver {
+
+    private final List<ShortLinkGotoResolveStage> stages;
+
+    private final List<StageMetrics> stageMetrics;
+
+    public ShortLinkGotoResolver(List<ShortLinkGotoResolveStage> stages) {
+        this.stages = List.copyOf(stages);
+        this.stageMetrics = stages.stream().map(each -> new StageMetrics(each.name())).toList();
+    }
+
+    /**
+     * 解析短链接对应的跳转缓存值
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 跳转缓存值，通过 {@link com.lcl.swiftlink.common.cache.ShortLinkGotoCacheValue} 解析原始链接及统计级别，短链接不存在返回 null
+     */
+    public String resolve(String fullShortUrl) {
+        for (int i = 0; i < stages.size(); i++) {
+            StageMetrics metrics = stageMetrics.get(i);
+            long startTime = System.nanoTime();
+            ShortLinkGotoResolveResult result = stages.get(i).resolve(fullShortUrl);
+            metrics.record(System.nanoTime() - startTime, result != null);
+            if (result != null) {
+                return result.getCacheValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 各解析阶段耗时统计
+     */
+    public List<ShortLinkGotoResolveStageStatsRespDTO> stageStats() {
+        return stageMetrics.stream().map(StageMetrics::toStats).toList();
+    }
+
+    private static class StageMetrics {
+
+        private final String name;
+        private final LongAdder invokeCount = new LongAdder();
+        private final LongAdder resolvedCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+
+        StageMetrics(String name) {
+            this.name = name;
+        }
+
+        void record(long costNanos, boolean resolved) {
+            invokeCount.increment();
+            if (resolved) {
+                resolvedCount.increment();
+            }
+            totalNanos.add(costNanos);
+            maxNanos.accumulate(costNanos);
+        }
+
+        ShortLinkGotoResolveStageStatsRespDTO toStats() {
+            long invokes = invokeCount.sum();
+            return ShortLinkGotoResolveStageStatsRespDTO.builder()
+                    .stage(name)
+                    .invokeCount(invokes)
+                    .resolvedCount(resolvedCount.sum())
+                    .avgMicros(invokes == 0 ? 0D : (double) TimeUnit.NANOSECONDS.toMicros(totalNanos.sum()) / invokes)
+                    .maxMicros(TimeUnit.NANOSECONDS.toMicros(maxNanos.get()))
+                    .build();
+        }
+    }
+}
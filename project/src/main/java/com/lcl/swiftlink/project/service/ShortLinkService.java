@@ -19,8 +19,8 @@ package com.lcl.swiftlink.project.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
 import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
-import com.lcl.swiftlink.project.dto.biz.ShortLinkStatsRecordDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkCreateReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkPageReqDTO;
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.service;
+
+import com.lcl.swiftlink.project.dto.req.ShortLinkStatsSamplingRateReqDTO;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkStatsSamplingRespDTO;
+
+/**
+ * 短链接统计采样接口层
+ */
+public interface ShortLinkStatsSamplingService {
+
+    /**
+     * 查询当前节点统计采样策略及采样率
+     *
+     * @return 统计采样策略
+     */
+    ShortLinkStatsSamplingRespDTO samplingPolicy();
+
+    /**
+     * 设置单个短链接统计采样率
+     *
+     * @param requestParam 设置采样率请求参数
+     */
+    void setSamplingRate(ShortLinkStatsSamplingRateReqDTO requestParam);
+}
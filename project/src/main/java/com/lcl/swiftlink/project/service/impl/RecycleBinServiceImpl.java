@@ -23,19 +23,23 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkGotoDO;
+import com.lcl.swiftlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.lcl.swiftlink.project.dao.mapper.ShortLinkMapper;
 import com.lcl.swiftlink.project.dto.req.RecycleBinRecoverReqDTO;
 import com.lcl.swiftlink.project.dto.req.RecycleBinRemoveReqDTO;
 import com.lcl.swiftlink.project.dto.req.RecycleBinSaveReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkRecycleBinPageReqDTO;
 import com.lcl.swiftlink.project.dto.resp.ShortLinkPageRespDTO;
+import com.lcl.swiftlink.project.mq.producer.ShortLinkGotoCacheInvalidateProducer;
 import com.lcl.swiftlink.project.service.RecycleBinService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
-import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
 
 /**
  * 回收站管理接口实现层
@@ -45,8 +49,11 @@ import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.GOTO_SH
 public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements RecycleBinService {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final ShortLinkGotoMapper shortLinkGotoMapper;
+    private final ShortLinkGotoCacheInvalidateProducer shortLinkGotoCacheInvalidateProducer;
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void saveRecycleBin(RecycleBinSaveReqDTO requestParam) {
         LambdaUpdateWrapper<ShortLinkDO> updateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
                 .eq(ShortLinkDO::getFullShortUrl, requestParam.getFullShortUrl())
@@ -57,7 +64,9 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
                 .enableStatus(1)
                 .build();
         baseMapper.update(shortLinkDO, updateWrapper);
+        updateShortLinkGoto(requestParam.getFullShortUrl(), requestParam.getGid(), ShortLinkGotoDO.builder().enableStatus(1).build());
         stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
+        shortLinkGotoCacheInvalidateProducer.send(requestParam.getFullShortUrl());
     }
 
     @Override
@@ -71,6 +80,7 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void recoverRecycleBin(RecycleBinRecoverReqDTO requestParam) {
         LambdaUpdateWrapper<ShortLinkDO> updateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
                 .eq(ShortLinkDO::getFullShortUrl, requestParam.getFullShortUrl())
@@ -81,10 +91,12 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
                 .enableStatus(0)
                 .build();
         baseMapper.update(shortLinkDO, updateWrapper);
+        updateShortLinkGoto(requestParam.getFullShortUrl(), requestParam.getGid(), ShortLinkGotoDO.builder().enableStatus(0).build());
         stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void removeRecycleBin(RecycleBinRemoveReqDTO requestParam) {
         LambdaUpdateWrapper<ShortLinkDO> updateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
                 .eq(ShortLinkDO::getFullShortUrl, requestParam.getFullShortUrl())
@@ -97,5 +109,17 @@ public class RecycleBinServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLin
                 .build();
         delShortLinkDO.setDelFlag(1);
         baseMapper.update(delShortLinkDO, updateWrapper);
+        updateShortLinkGoto(requestParam.getFullShortUrl(), requestParam.getGid(), ShortLinkGotoDO.builder().delFlag(1).build());
+        shortLinkGotoCacheInvalidateProducer.send(requestParam.getFullShortUrl());
+    }
+
+    /**
+     * 同步短链接跳转表冗余的跳转状态
+     */
+    private void updateShortLinkGoto(String fullShortUrl, String gid, ShortLinkGotoDO shortLinkGotoDO) {
+        LambdaUpdateWrapper<ShortLinkGotoDO> updateWrapper = Wrappers.lambdaUpdate(ShortLinkGotoDO.class)
+                .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl)
+                .eq(ShortLinkGotoDO::getGid, gid);
+        shortLinkGotoMapper.update(shortLinkGotoDO, updateWrapper);
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.service.impl;
+
+import com.lcl.swiftlink.common.config.StatsSamplingConfiguration;
+import com.lcl.swiftlink.common.stats.ShortLinkStatsSampler;
+import com.lcl.swiftlink.project.common.convention.exception.ClientException;
+import com.lcl.swiftlink.project.dto.req.ShortLinkStatsSamplingRateReqDTO;
+import com.lcl.swiftlink.project.dto.resp.ShortLinkStatsSamplingRespDTO;
+import com.lcl.swiftlink.project.service.ShortLinkStatsSamplingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 短链接统计采样接口实现层
+ */
+@Service
+@RequiredArgsConstructor
+public class ShortLinkStatsSamplingServiceImpl implements ShortLinkStatsSamplingService {
+
+    private final ShortLinkStatsSampler shortLinkStatsSampler;
+    private final StatsSamplingConfiguration statsSamplingConfiguration;
+
+    @Override
+    public ShortLinkStatsSamplingRespDTO samplingPolicy() {
+        return ShortLinkStatsSamplingRespDTO.builder()
+                .enable(shortLinkStatsSampler.isEnable())
+                .streamLag(shortLinkStatsSampler.getStreamLag())
+                .lagThreshold(statsSamplingConfiguration.getLagThreshold())
+                .minRate(statsSamplingConfiguration.getMinRate())
+                .globalRate(shortLinkStatsSampler.getGlobalRate())
+                .linkRates(shortLinkStatsSampler.getLinkRates())
+                .build();
+    }
+
+    @Override
+    public void setSamplingRate(ShortLinkStatsSamplingRateReqDTO requestParam) {
+        Double rate = requestParam.getRate();
+        if (rate != null && (rate <= 0D || rate > 1D)) {
+            throw new ClientException("采样率取值范围为 (0, 1]");
+        }
+        shortLinkStatsSampler.setLinkRate(requestParam.getFullShortUrl(), rate);
+    }
+}
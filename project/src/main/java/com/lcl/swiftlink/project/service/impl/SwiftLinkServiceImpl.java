@@ -18,41 +18,43 @@
 package com.lcl.swiftlink.project.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.date.DateUnit;
-import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.lang.UUID;
 import cn.hutool.core.text.StrBuilder;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
-import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
-import com.google.common.collect.Lists;
+import com.lcl.swiftlink.common.cache.ShortLinkGotoCacheValue;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.enums.ShortLinkStatsLevelEnum;
+import com.lcl.swiftlink.common.mq.producer.ShortLinkStatsSaveProducer;
+import com.lcl.swiftlink.common.stats.ShortLinkStatsSampler;
+import com.lcl.swiftlink.common.stats.ShortLinkStatsVisitorCounts;
+import com.lcl.swiftlink.common.toolkit.UserAgentInfo;
+import com.lcl.swiftlink.common.toolkit.VisitorIdUtil;
+import com.lcl.swiftlink.project.cache.ShortLinkGotoCacheLoader;
 import com.lcl.swiftlink.project.common.convention.exception.ClientException;
 import com.lcl.swiftlink.project.common.convention.exception.ServiceException;
-import com.lcl.swiftlink.project.common.convention.result.Results;
 import com.lcl.swiftlink.project.common.enums.VailDateTypeEnum;
 import com.lcl.swiftlink.project.config.GotoDomainWhiteListConfiguration;
 import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
 import com.lcl.swiftlink.project.dao.entity.ShortLinkGotoDO;
-import com.lcl.swiftlink.project.dao.entity.SwiftLinkDO;
-import com.lcl.swiftlink.project.dao.entity.SwiftLinkJumpDO;
 import com.lcl.swiftlink.project.dao.mapper.ShortLinkGotoMapper;
 import com.lcl.swiftlink.project.dao.mapper.ShortLinkMapper;
-import com.lcl.swiftlink.project.dao.mapper.SwiftLinkJumpMapper;
-import com.lcl.swiftlink.project.dto.biz.ShortLinkStatsRecordDTO;
-import com.lcl.swiftlink.project.dto.biz.SwiftLinkVisitDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkBatchCreateReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkCreateReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkPageReqDTO;
 import com.lcl.swiftlink.project.dto.req.ShortLinkUpdateReqDTO;
 import com.lcl.swiftlink.project.dto.resp.*;
-import com.lcl.swiftlink.project.mq.producer.ShortLinkStatsSaveProducer;
+import com.lcl.swiftlink.project.mq.producer.ShortLinkGotoBloomFilterAddProducer;
+import com.lcl.swiftlink.project.mq.producer.ShortLinkGotoCacheInvalidateProducer;
+import com.lcl.swiftlink.project.resolver.ShortLinkGotoResolver;
 import com.lcl.swiftlink.project.service.ShortLinkService;
+import com.lcl.swiftlink.project.stats.ShortLinkStatsVisitorClassifier;
 import com.lcl.swiftlink.project.toolkit.HashUtil;
 import com.lcl.swiftlink.project.toolkit.LinkUtil;
 import jakarta.servlet.ServletRequest;
@@ -68,26 +70,22 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RLock;
-import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
-import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.*;
-import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
 import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.*;
 
 /**
@@ -98,17 +96,18 @@ import static com.lcl.swiftlink.project.common.constant.RedisKeyConstant.*;
 @RequiredArgsConstructor
 public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLinkDO> implements ShortLinkService {
 
-    private static final String VISIT_DATA_SET_LUA_SCRIPT_PATH = "lua/visit_data_set.lua";
     private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
-    private final RBloomFilter<String> swiftUrlRedisBloomFilter;
     private final ShortLinkGotoMapper shortLinkGotoMapper;
-    private final SwiftLinkJumpMapper swiftLinkJumpMapper;
     private final StringRedisTemplate stringRedisTemplate;
-    private final StringRedisTemplate swiftUrlStringRedisTemplate;
     private final RedissonClient redissonClient;
-    private final RedissonClient swiftLinkRedissonClient;
     private final ShortLinkStatsSaveProducer shortLinkStatsSaveProducer;
     private final GotoDomainWhiteListConfiguration gotoDomainWhiteListConfiguration;
+    private final ShortLinkGotoResolver shortLinkGotoResolver;
+    private final ShortLinkGotoCacheLoader shortLinkGotoCacheLoader;
+    private final ShortLinkGotoCacheInvalidateProducer shortLinkGotoCacheInvalidateProducer;
+    private final ShortLinkGotoBloomFilterAddProducer shortLinkGotoBloomFilterAddProducer;
+    private final ShortLinkStatsVisitorClassifier shortLinkStatsVisitorClassifier;
+    private final ShortLinkStatsSampler shortLinkStatsSampler;
 
     @Value("${short-link.domain.default}")
     private String createShortLinkDefaultDomain;
@@ -132,6 +131,7 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .describe(requestParam.getDescribe())
                 .shortUri(shortLinkSuffix)
                 .enableStatus(0)
+                .statsLevel(ShortLinkStatsLevelEnum.of(requestParam.getStatsLevel()).getLevel())
                 .totalPv(0)
                 .totalUv(0)
                 .totalUip(0)
@@ -143,6 +143,11 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
         ShortLinkGotoDO linkGotoDO = ShortLinkGotoDO.builder()
                 .fullShortUrl(fullShortUrl)
                 .gid(requestParam.getGid())
+                .originUrl(requestParam.getOriginUrl())
+                .validDate(requestParam.getValidDate())
+                .enableStatus(0)
+                .delFlag(0)
+                .statsLevel(shortLinkDO.getStatsLevel())
                 .build();
         try {
             baseMapper.insert(shortLinkDO);
@@ -151,15 +156,13 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
             // 首先判断是否存在布隆过滤器，如果不存在直接新增
             if (!shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl)) {
                 shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+                shortLinkGotoBloomFilterAddProducer.send(fullShortUrl);
             }
             throw new ServiceException(String.format("短链接：%s 生成重复", fullShortUrl));
         }
-        stringRedisTemplate.opsForValue().set(
-                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                requestParam.getOriginUrl(),
-                LinkUtil.getLinkCacheValidTime(requestParam.getValidDate()), TimeUnit.MILLISECONDS
-        );
+        shortLinkGotoCacheLoader.put(fullShortUrl, requestParam.getOriginUrl(), requestParam.getValidDate(), shortLinkDO.getStatsLevel());
         shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
+        shortLinkGotoBloomFilterAddProducer.send(fullShortUrl);
         return ShortLinkCreateRespDTO.builder()
                 .fullShortUrl("http://" + shortLinkDO.getFullShortUrl())
                 .originUrl(requestParam.getOriginUrl())
@@ -189,6 +192,7 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                     .describe(requestParam.getDescribe())
                     .shortUri(shortLinkSuffix)
                     .enableStatus(0)
+                    .statsLevel(ShortLinkStatsLevelEnum.of(requestParam.getStatsLevel()).getLevel())
                     .totalPv(0)
                     .totalUv(0)
                     .totalUip(0)
@@ -200,6 +204,11 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
             ShortLinkGotoDO linkGotoDO = ShortLinkGotoDO.builder()
                     .fullShortUrl(fullShortUrl)
                     .gid(requestParam.getGid())
+                    .originUrl(requestParam.getOriginUrl())
+                    .validDate(requestParam.getValidDate())
+                    .enableStatus(0)
+                    .delFlag(0)
+                    .statsLevel(shortLinkDO.getStatsLevel())
                     .build();
             try {
                 baseMapper.insert(shortLinkDO);
@@ -207,11 +216,7 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
             } catch (DuplicateKeyException ex) {
                 throw new ServiceException(String.format("短链接：%s 生成重复", fullShortUrl));
             }
-            stringRedisTemplate.opsForValue().set(
-                    String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                    requestParam.getOriginUrl(),
-                    LinkUtil.getLinkCacheValidTime(requestParam.getValidDate()), TimeUnit.MILLISECONDS
-            );
+            shortLinkGotoCacheLoader.put(fullShortUrl, requestParam.getOriginUrl(), requestParam.getValidDate(), shortLinkDO.getStatsLevel());
         } finally {
             lock.unlock();
         }
@@ -262,6 +267,9 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
         if (hasShortLinkDO == null) {
             throw new ClientException("短链接记录不存在");
         }
+        Integer statsLevel = requestParam.getStatsLevel() != null
+                ? ShortLinkStatsLevelEnum.of(requestParam.getStatsLevel()).getLevel()
+                : hasShortLinkDO.getStatsLevel();
         if (Objects.equals(hasShortLinkDO.getGid(), requestParam.getGid())) {
             LambdaUpdateWrapper<ShortLinkDO> updateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
                     .eq(ShortLinkDO::getFullShortUrl, requestParam.getFullShortUrl())
@@ -279,57 +287,85 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                     .describe(requestParam.getDescribe())
                     .validDateType(requestParam.getValidDateType())
                     .validDate(requestParam.getValidDate())
+                    .statsLevel(statsLevel)
                     .build();
             baseMapper.update(shortLinkDO, updateWrapper);
+            LambdaUpdateWrapper<ShortLinkGotoDO> linkGotoUpdateWrapper = Wrappers.lambdaUpdate(ShortLinkGotoDO.class)
+                    .eq(ShortLinkGotoDO::getFullShortUrl, requestParam.getFullShortUrl())
+                    .eq(ShortLinkGotoDO::getGid, requestParam.getGid())
+                    .set(Objects.equals(requestParam.getValidDateType(), VailDateTypeEnum.PERMANENT.getType()), ShortLinkGotoDO::getValidDate, null);
+            ShortLinkGotoDO shortLinkGotoDO = ShortLinkGotoDO.builder()
+                    .originUrl(requestParam.getOriginUrl())
+                    .validDate(requestParam.getValidDate())
+                    .enableStatus(hasShortLinkDO.getEnableStatus())
+                    .delFlag(0)
+                    .statsLevel(statsLevel)
+                    .build();
+            shortLinkGotoMapper.update(shortLinkGotoDO, linkGotoUpdateWrapper);
         } else {
-            RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(String.format(LOCK_GID_UPDATE_KEY, requestParam.getFullShortUrl()));
-            RLock rLock = readWriteLock.writeLock();
-            rLock.lock();
-            try {
-                LambdaUpdateWrapper<ShortLinkDO> linkUpdateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
-                        .eq(ShortLinkDO::getFullShortUrl, requestParam.getFullShortUrl())
-                        .eq(ShortLinkDO::getGid, hasShortLinkDO.getGid())
-                        .eq(ShortLinkDO::getDelFlag, 0)
-                        .eq(ShortLinkDO::getDelTime, 0L)
-                        .eq(ShortLinkDO::getEnableStatus, 0);
-                ShortLinkDO delShortLinkDO = ShortLinkDO.builder()
-                        .delTime(System.currentTimeMillis())
-                        .build();
-                delShortLinkDO.setDelFlag(1);
-                baseMapper.update(delShortLinkDO, linkUpdateWrapper);
-                ShortLinkDO shortLinkDO = ShortLinkDO.builder()
-                        .domain(createShortLinkDefaultDomain)
-                        .originUrl(requestParam.getOriginUrl())
-                        .gid(requestParam.getGid())
-                        .createdType(hasShortLinkDO.getCreatedType())
-                        .validDateType(requestParam.getValidDateType())
-                        .validDate(requestParam.getValidDate())
-                        .describe(requestParam.getDescribe())
-                        .shortUri(hasShortLinkDO.getShortUri())
-                        .enableStatus(hasShortLinkDO.getEnableStatus())
-                        .totalPv(hasShortLinkDO.getTotalPv())
-                        .totalUv(hasShortLinkDO.getTotalUv())
-                        .totalUip(hasShortLinkDO.getTotalUip())
-                        .fullShortUrl(hasShortLinkDO.getFullShortUrl())
-                        .favicon(Objects.equals(requestParam.getOriginUrl(), hasShortLinkDO.getOriginUrl()) ? hasShortLinkDO.getFavicon() : getFavicon(requestParam.getOriginUrl()))
-                        .delTime(0L)
-                        .build();
-                baseMapper.insert(shortLinkDO);
-                LambdaQueryWrapper<ShortLinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
-                        .eq(ShortLinkGotoDO::getFullShortUrl, requestParam.getFullShortUrl())
-                        .eq(ShortLinkGotoDO::getGid, hasShortLinkDO.getGid());
-                ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(linkGotoQueryWrapper);
-                shortLinkGotoMapper.delete(linkGotoQueryWrapper);
-                shortLinkGotoDO.setGid(requestParam.getGid());
-                shortLinkGotoMapper.insert(shortLinkGotoDO);
-            } finally {
-                rLock.unlock();
+            // 先对跳转记录加排他锁，统计消费者加共享锁查询分组，未提交的统计写入完成前修改分组会等待，修改分组提交后统计累加到新分组
+            ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                    .eq(ShortLinkGotoDO::getFullShortUrl, requestParam.getFullShortUrl())
+                    .eq(ShortLinkGotoDO::getGid, hasShortLinkDO.getGid())
+                    .last("FOR UPDATE"));
+            // 加锁后重新读取历史统计，包含加锁前已提交的统计累加
+            ShortLinkDO lockedShortLinkDO = baseMapper.selectOne(Wrappers.lambdaQuery(ShortLinkDO.class)
+                    .eq(ShortLinkDO::getGid, hasShortLinkDO.getGid())
+                    .eq(ShortLinkDO::getFullShortUrl, requestParam.getFullShortUrl())
+                    .eq(ShortLinkDO::getDelFlag, 0)
+                    .eq(ShortLinkDO::getEnableStatus, 0)
+                    .last("FOR UPDATE"));
+            if (shortLinkGotoDO == null || lockedShortLinkDO == null) {
+                throw new ClientException("短链接记录不存在");
             }
+            LambdaUpdateWrapper<ShortLinkDO> linkUpdateWrapper = Wrappers.lambdaUpdate(ShortLinkDO.class)
+                    .eq(ShortLinkDO::getFullShortUrl, requestParam.getFullShortUrl())
+                    .eq(ShortLinkDO::getGid, hasShortLinkDO.getGid())
+                    .eq(ShortLinkDO::getDelFlag, 0)
+                    .eq(ShortLinkDO::getDelTime, 0L)
+                    .eq(ShortLinkDO::getEnableStatus, 0);
+            ShortLinkDO delShortLinkDO = ShortLinkDO.builder()
+                    .delTime(System.currentTimeMillis())
+                    .build();
+            delShortLinkDO.setDelFlag(1);
+            baseMapper.update(delShortLinkDO, linkUpdateWrapper);
+            ShortLinkDO shortLinkDO = ShortLinkDO.builder()
+                    .domain(createShortLinkDefaultDomain)
+                    .originUrl(requestParam.getOriginUrl())
+                    .gid(requestParam.getGid())
+                    .createdType(hasShortLinkDO.getCreatedType())
+                    .validDateType(requestParam.getValidDateType())
+                    .validDate(requestParam.getValidDate())
+                    .describe(requestParam.getDescribe())
+                    .shortUri(hasShortLinkDO.getShortUri())
+                    .enableStatus(hasShortLinkDO.getEnableStatus())
+                    .statsLevel(statsLevel)
+                    .totalPv(lockedShortLinkDO.getTotalPv())
+                    .totalUv(lockedShortLinkDO.getTotalUv())
+                    .totalUip(lockedShortLinkDO.getTotalUip())
+                    .fullShortUrl(hasShortLinkDO.getFullShortUrl())
+                    .favicon(Objects.equals(requestParam.getOriginUrl(), hasShortLinkDO.getOriginUrl()) ? hasShortLinkDO.getFavicon() : getFavicon(requestParam.getOriginUrl()))
+                    .delTime(0L)
+                    .build();
+            baseMapper.insert(shortLinkDO);
+            LambdaQueryWrapper<ShortLinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
+                    .eq(ShortLinkGotoDO::getFullShortUrl, requestParam.getFullShortUrl())
+                    .eq(ShortLinkGotoDO::getGid, hasShortLinkDO.getGid());
+            shortLinkGotoMapper.delete(linkGotoQueryWrapper);
+            shortLinkGotoDO.setGid(requestParam.getGid());
+            shortLinkGotoDO.setOriginUrl(requestParam.getOriginUrl());
+            shortLinkGotoDO.setValidDate(requestParam.getValidDate());
+            shortLinkGotoDO.setEnableStatus(hasShortLinkDO.getEnableStatus());
+            shortLinkGotoDO.setDelFlag(0);
+            shortLinkGotoDO.setStatsLevel(statsLevel);
+            shortLinkGotoMapper.insert(shortLinkGotoDO);
         }
         if (!Objects.equals(hasShortLinkDO.getValidDateType(), requestParam.getValidDateType())
                 || !Objects.equals(hasShortLinkDO.getValidDate(), requestParam.getValidDate())
-                || !Objects.equals(hasShortLinkDO.getOriginUrl(), requestParam.getOriginUrl())) {
+                || !Objects.equals(hasShortLinkDO.getOriginUrl(), requestParam.getOriginUrl())
+                || !Objects.equals(hasShortLinkDO.getStatsLevel(), statsLevel)) {
             stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, requestParam.getFullShortUrl()));
+            shortLinkGotoCacheInvalidateProducer.send(requestParam.getFullShortUrl());
             Date currentDate = new Date();
             if (hasShortLinkDO.getValidDate() != null && hasShortLinkDO.getValidDate().before(currentDate)) {
                 if (Objects.equals(requestParam.getValidDateType(), VailDateTypeEnum.PERMANENT.getType()) || requestParam.getValidDate().after(currentDate)) {
@@ -372,520 +408,67 @@ public class SwiftLinkServiceImpl extends ServiceImpl<ShortLinkMapper, ShortLink
                 .map(each -> ":" + each)
                 .orElse("");
         String fullShortUrl = serverName + serverPort + "/" + shortUri;
-        String originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-        if (StrUtil.isNotBlank(originalLink)) {
-            shortLinkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-             ((HttpServletResponse) response).sendRedirect(originalLink);
-            return;
-        }
-        boolean contains = shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl);
-        if (!contains) {
+        ShortLinkGotoCacheValue gotoCacheValue = ShortLinkGotoCacheValue.decode(shortLinkGotoResolver.resolve(fullShortUrl));
+        if (gotoCacheValue == null || StrUtil.isBlank(gotoCacheValue.getOriginUrl())) {
             ((HttpServletResponse) response).sendRedirect("/page/notfound");
             return;
         }
-        String gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
-        if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
-            ((HttpServletResponse) response).sendRedirect("/page/notfound");
-            return;
-        }
-        RLock lock = redissonClient.getLock(String.format(LOCK_GOTO_SHORT_LINK_KEY, fullShortUrl));
-        lock.lock();
-        try {
-            originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-            if (StrUtil.isNotBlank(originalLink)) {
-                shortLinkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-                ((HttpServletResponse) response).sendRedirect(originalLink);
-                return;
-            }
-            gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
-            if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            LambdaQueryWrapper<ShortLinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(ShortLinkGotoDO.class)
-                    .eq(ShortLinkGotoDO::getFullShortUrl, fullShortUrl);
-            ShortLinkGotoDO shortLinkGotoDO = shortLinkGotoMapper.selectOne(linkGotoQueryWrapper);
-            if (shortLinkGotoDO == null) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            LambdaQueryWrapper<ShortLinkDO> queryWrapper = Wrappers.lambdaQuery(ShortLinkDO.class)
-                    .eq(ShortLinkDO::getGid, shortLinkGotoDO.getGid())
-                    .eq(ShortLinkDO::getFullShortUrl, fullShortUrl)
-                    .eq(ShortLinkDO::getDelFlag, 0)
-                    .eq(ShortLinkDO::getEnableStatus, 0);
-            ShortLinkDO shortLinkDO = baseMapper.selectOne(queryWrapper);
-            if (shortLinkDO == null || (shortLinkDO.getValidDate() != null && shortLinkDO.getValidDate().before(new Date()))) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
-            }
-            stringRedisTemplate.opsForValue().set(
-                    String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                    shortLinkDO.getOriginUrl(),
-                    LinkUtil.getLinkCacheValidTime(shortLinkDO.getValidDate()), TimeUnit.MILLISECONDS
-            );
-            shortLinkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-            ((HttpServletResponse) response).sendRedirect(shortLinkDO.getOriginUrl());
-        } finally {
-            lock.unlock();
-        }
-    }
-
-    /**
-     * 短网址跳转原始网址
-     * @param swiftUri
-     * @param servletRequest
-     * @param servletResponse
-     * @throws IOException
-     */
-    @SneakyThrows
-    public void jumpOriginalLink(String swiftUri,ServletRequest servletRequest,ServletResponse servletResponse) throws Exception {
-        // 1. 构造完整短链接
-        String fullSwiftUrl = constructFullSwiftUrl(swiftUri, servletRequest);
-        // 2. 先查询缓存是否存在
-        String sourceUrl = swiftUrlStringRedisTemplate.opsForValue().get("swiftLink:jump:" + fullSwiftUrl);
-        if (hitDestiCache(servletRequest, servletResponse, sourceUrl,fullSwiftUrl)) return;
-        // 4. 若没查到，防止缓存穿透
-        // 4.1. 先查布隆过滤器
-        if (!swiftUrlRedisBloomFilter.contains(fullSwiftUrl)) {
-            // 4.1.1. 布隆过滤器判断不存在，则一定不存在
-            ((HttpServletResponse) servletResponse).sendRedirect("/page/missing");
-            return;
-        }
-        // 4.1.2. 布隆过滤器判断存在，未必真存在，可能存在误判，先查缓存是否有空值
-        String jumpNull = swiftUrlStringRedisTemplate.opsForValue().get("swiftLink:null:jump_to_" + fullSwiftUrl);
-        if (jumpNull!=null && !jumpNull.trim().isEmpty()){
-            // 查到缓存的空值
-            ((HttpServletResponse) servletResponse).sendRedirect("/page/missing");
-            return;
-        }
-        // 4.2. 查不到空对象，说明可能是存在的，进行缓存的构建
-        // 4.1.1. 获取分布式锁，且采用 dcl
-        RLock jumpLock = swiftLinkRedissonClient.getLock("swiftLink:jumpLock:" + sourceUrl);
-        jumpLock.lock();
-        // dcl，包括缓存击穿和缓存穿透
-        sourceUrl = swiftUrlStringRedisTemplate.opsForValue().get("swiftLink:jump:" + fullSwiftUrl);
-        if (hitDestiCache(servletRequest, servletResponse, sourceUrl,fullSwiftUrl)) return;
-        jumpNull = swiftUrlStringRedisTemplate.opsForValue().get("swiftLink:null:jump_to_" + fullSwiftUrl);
-        if (jumpNull!=null && !jumpNull.trim().isEmpty()){
-            // 查到缓存的空值
-            ((HttpServletResponse) servletResponse).sendRedirect("/page/missing");
-            return;
-        }
-        try {
-            if (processDatabaseQueryAndCache((HttpServletResponse) servletResponse, fullSwiftUrl)) return;
-            // 5.5. 进行监控
-            trackSwiftLinkAccess(fullSwiftUrl,servletRequest,servletResponse);
-            // 5.6. 跳转
-            ((HttpServletResponse) servletResponse).sendRedirect(sourceUrl);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        } finally {
-            jumpLock.unlock();
-        }
-    }
-
-    /**
-     * 查询两个相关的数据库表并构建缓存
-     * @param servletResponse
-     * @param fullSwiftUrl
-     * @return
-     * @throws IOException
-     */
-    private boolean processDatabaseQueryAndCache(HttpServletResponse servletResponse, String fullSwiftUrl) throws IOException {
-        //  4.1.2. 查询数据库
-        QueryWrapper<SwiftLinkJumpDO> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("full_swift_url", fullSwiftUrl);
-        SwiftLinkJumpDO swiftLinkJumpDO = swiftLinkJumpMapper.selectOne(queryWrapper);
-        if (swiftLinkJumpDO==null) {
-            // 5.1. 数据库查不到，是缓存穿透问题，设置空对象然后跳转404
-            swiftUrlStringRedisTemplate.opsForValue().
-                    set("swiftLink:null:jump_to_" + fullSwiftUrl,"_",30,TimeUnit.MINUTES);
-            servletResponse.sendRedirect("/page/missing");
-            return true;
-        }
-        // 5.2. 数据库查到链接跳转表，还得查询链接表
-        QueryWrapper<ShortLinkDO> queryWrapperAnother = new QueryWrapper<>();
-        queryWrapperAnother.eq("gid",swiftLinkJumpDO.getGid())
-                        .eq("full_swift_url",swiftLinkJumpDO.getFullSwiftUrl())
-                                .eq("del_flag",0)
-                                        .eq("enable_status",0);
-        ShortLinkDO swiftLinkDO = baseMapper.selectOne(queryWrapperAnother);
-//        SwiftLinkDO swiftLinkDO = baseMapper.selectOne(queryWrapperAnother);
-        if (swiftLinkDO == null || (swiftLinkDO.getValidDate() != null && swiftLinkDO.getValidDate().before(new Date()))) {
-            // 5.3. 数据库查不到，是缓存穿透问题，或者已经过期，设置空对象然后跳转404
-            swiftUrlStringRedisTemplate.opsForValue().
-                    set("swiftLink:null:jump_to_" + fullSwiftUrl,"_",30,TimeUnit.MINUTES);
-            servletResponse.sendRedirect("/page/missing");
-            return true;
-        }
-        // 5.4. 数据库两个表都查得到，是缓存击穿，重建缓存
-        long leftTime = swiftLinkDO.getValidDate()==null? 2626560000L: DateUtil.between(new Date(),swiftLinkDO.getValidDate(), DateUnit.MS);
-        swiftUrlStringRedisTemplate.opsForValue()
-                .set("swiftLink:jump:" + fullSwiftUrl,
-                        swiftLinkDO.getSourceUrl(),
-                        leftTime,
-                        TimeUnit.MILLISECONDS);
-        return false;
-    }
-
-    /**
-     * 击中缓存数据
-     * @param servletRequest
-     * @param servletResponse
-     * @param sourceUrl
-     * @return
-     * @throws IOException
-     */
-    private boolean hitDestiCache(ServletRequest servletRequest, ServletResponse servletResponse, String sourceUrl,String fullSwiftUrl) throws Exception {
-        if (sourceUrl !=null && !sourceUrl.trim().isEmpty()) {
-            // 3. 若查到了，则统计访问数据，然后跳转
-            trackSwiftLinkAccess(fullSwiftUrl, servletRequest, servletResponse);
-            ((HttpServletResponse) servletResponse).sendRedirect(sourceUrl);
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * 构建完整短网址
-     * @param swiftUri
-     * @param servletRequest
-     * @return
-     */
-    private String constructFullSwiftUrl(String swiftUri,ServletRequest servletRequest){
-        // 1.1. 获取地址栏中输入的端口，即服务端口
-        int port = servletRequest.getServerPort();
-        String serverPort = port != 80 ? ":" + Integer.toString(port) : "";
-        // 1.2. 获取服务域名
-        String serverName = servletRequest.getServerName();
-        // 1.3. 拼接后返回
-        return serverName+serverPort+"/"+swiftUri;
-    }
-
-    /**
-     * 监控链接的访问信息
-     * @param fullSwiftUrl
-     * @param servletRequest
-     * @param servletResponse
-     * @throws Exception
-     */
-    private void trackSwiftLinkAccess(String fullSwiftUrl,ServletRequest servletRequest,ServletResponse servletResponse) throws Exception {
-        SwiftLinkVisitDTO swiftLinkVisitDTO = generateSwiftLinkVisitDTO(fullSwiftUrl, servletRequest, servletResponse);
-        // ... 发消息等逻辑
-    }
-    // --------------------------------------------------------------------------------
-
-    /**
-     * 构建访问统计的DTO，用于后续给其他数据库实体赋值。
-     * @param fullSwiftUrl
-     * @param servletRequest
-     * @param servletResponse
-     * @return
-     * @throws Exception
-     */
-    private SwiftLinkVisitDTO generateSwiftLinkVisitDTO(String fullSwiftUrl,ServletRequest servletRequest,ServletResponse servletResponse) throws Exception {
-        // 1. 准备各个变量
-        // 1.1. 强转为 HttpServletRequest 以获取请求头中的信息
-        HttpServletRequest httpReq = (HttpServletRequest) servletRequest;
-        // 1.2. 标记是有史以来第一次访问该链接还是历史访问过的用户，用于统计历史访问 uv
-        AtomicBoolean historyVisitorFirstFlag = new AtomicBoolean();
-        // 1.3. 标记是今日第一次访问的还是今日访问过的用户，用于统计今日访问 uv
-        AtomicBoolean todayVisitorFirstFlag = new AtomicBoolean();
-        // 1.4. 用于放在在请求头中的 cookie 中的值
-        AtomicReference<String> visitorIdForUV = new AtomicReference<>();
-        // 1.5. 用于执行 lua 脚本的变量，因为添加到集合并设置有效期是两个操作，为防止出现 GC 等造成程序卡顿，带来时间间隔大，需要
-        // 使用 lua 脚本使其作为一个原子性操作
-        DefaultRedisScript<Long> redisScript = new DefaultRedisScript<>();
-        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(VISIT_DATA_SET_LUA_SCRIPT_PATH)));
-        redisScript.setResultType(Long.class);
-        // 2. 构造 cookie 并得到 cookie 中的值，用于后续返回给前端
-        String uvUUID = processVisitorCookie(redisScript,fullSwiftUrl, httpReq, (HttpServletResponse) servletResponse, visitorIdForUV, historyVisitorFirstFlag,todayVisitorFirstFlag);
-        // 3. 获取用户的 IP
-        String clientIp = getClientIP(httpReq);
-        // 4. 获取用户的访问浏览器
-        String clientBrowser = getClientBrowser(httpReq);
-        // 5. 获取用户的访问设备
-        String clientDevice = getClientDevice(httpReq);
-        // 6. 获取用户的访问网络
-        String clientNetwork = getClientNetwork(httpReq);
-        // 7.1 记录uip历史访问信息添加到redis集合中的情况
-        Long uipHistoryAdded=null;
-        // 8.1 记录uip今日访问信息添加到redis集合中的情况
-        Long uipTodayAdded=null;
-        try {
-            // 7.2 将用户ip放到redis的历史uip集合中，利用集合的唯一性判断是否已经重复。注意要设置每个的有效期，所以键需要精确到IP。
-            uipHistoryAdded = swiftUrlStringRedisTemplate.execute(redisScript,
-                    Lists.newArrayList("SwiftLink:monitorHistoryUIP:" + fullSwiftUrl + clientIp),
-                    clientIp,
-                    String.valueOf(0));
-            // 8.2 将用户ip放到redis的今日uip集合中，利用集合的唯一性判断是否已经重复。注意要设置每个的有效期，所以键需要精确到IP。
-            uipTodayAdded = swiftUrlStringRedisTemplate.execute(redisScript,
-                    Lists.newArrayList("SwiftLink:monitorTodayUIP:" + fullSwiftUrl + clientIp),
-                    clientIp,
-                    String.valueOf(2));
-        } catch (Throwable ex) {
-            log.error("设置为统计访问记录的uv的LUA脚本出错", ex);
-        }
-        // 7.3. >0L说明添加成功，否则添加失败，说明集合中已经存在，不是新用户
-        boolean uipHistoryFirst = uipHistoryAdded!=null && uipHistoryAdded>0L;
-        // 8.3. >0L说明添加成功，否则添加失败，说明集合中已经存在，不是今日新用户
-        boolean uipTodayFirst = uipTodayAdded!=null && uipTodayAdded>0L;
-        // 9. 构建好访问统计的DTO，用于后续给其他数据库实体赋值。
-        SwiftLinkVisitDTO swiftLinkVisitDTO = SwiftLinkVisitDTO.builder().fullSwiftUrl(fullSwiftUrl)
-                .uv(uvUUID)
-                .currentDate(new Date())
-                .uvHistoryFirstFlag(historyVisitorFirstFlag.get())
-                .uvTodayFirstFlag(historyVisitorFirstFlag.get())
-                .uipHistoryFirstFlag(uipHistoryFirst)
-                .uipTodayFirstFlag(uipTodayFirst)
-                .clientIP(clientIp)
-                .clientBrowser(clientBrowser)
-                .clientDevice(clientDevice)
-                .clientNetwork(clientNetwork)
-                .build();
-        return swiftLinkVisitDTO;
-    }
-
-    /**
-     * 处理 uv 信息，包括历史范围和今日范围
-     * @param redisScript
-     * @param url
-     * @param req
-     * @param resp
-     * @param visitorIdForUV
-     * @param historyVisitorFirstFlag
-     * @param todayVisitorFirstFlag
-     * @return
-     * @throws Exception
-     */
-    private String processVisitorCookie(DefaultRedisScript<Long> redisScript,String url, HttpServletRequest req, HttpServletResponse resp,
-                                      AtomicReference<String> visitorIdForUV, AtomicBoolean historyVisitorFirstFlag,AtomicBoolean todayVisitorFirstFlag) throws Exception {
-        // 给新用户构建 cookie 并记录和统计信息的任务
-        Callable<String> cookieInitializer = () -> {
-            String newCookieString = UUID.fastUUID().toString();
-            Cookie trackingCookie = buildCookie(newCookieString, url);
-            resp.addCookie(trackingCookie);
-            visitorIdForUV.set(newCookieString);
-            historyVisitorFirstFlag.set(Boolean.TRUE);
-            todayVisitorFirstFlag.set(Boolean.TRUE);
-            try {
-                swiftUrlStringRedisTemplate.execute(redisScript,
-                        Lists.newArrayList("SwiftLink:monitorHistoryUV:" + url + newCookieString),
-                        newCookieString,
-                        String.valueOf(1));
-                swiftUrlStringRedisTemplate.execute(redisScript,
-                        Lists.newArrayList("SwiftLink:monitorTodayUV:" + url + newCookieString),
-                        newCookieString,
-                        String.valueOf(2));
-            } catch (Throwable ex) {
-                log.error("设置为统计访问记录的uv的LUA脚本出错", ex);
+        ShortLinkStatsLevelEnum statsLevel = gotoCacheValue.getStatsLevel();
+        if (statsLevel != ShortLinkStatsLevelEnum.OFF) {
+            int statsWeight = shortLinkStatsSampler.sample(fullShortUrl);
+            if (statsWeight > 0) {
+                shortLinkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, statsLevel, statsWeight, request, response));
             }
-            return newCookieString;
-        };
-        String uvUUID = null;
-        // 2.1. 找到用户请求头的键为 uv 即我们存进入的 cookie
-        Optional<Cookie> optionalCookie = Optional.ofNullable(req.getCookies())
-                .flatMap(cookies -> Arrays.stream(cookies)
-                        .filter(c -> "uv".equals(c.getName()))
-                        .findFirst());
-        if (optionalCookie.isPresent()) {
-            // 2.2.1. 若找到，则获取其中的 uv cookie对应的值 uvUUID，作为用户的标记
-            Cookie existingCookie = optionalCookie.get();
-            uvUUID = existingCookie.getValue();
-            // 2.3.1 将其存入对应的redis集合中，判断是否是新用户
-            handleExistingCookie(redisScript, url,uvUUID , visitorIdForUV, historyVisitorFirstFlag, todayVisitorFirstFlag);
-        } else {
-            try {
-                // 2.2.2 若没找到，说明是新用户，构造新的 cookie 并放入响应体中。
-                uvUUID = cookieInitializer.call();
-            } catch (Exception e) {
-                log.error("Failed to initialize cookie", e);
-            }
-        }
-        return uvUUID;
-    }
-
-    /**
-     * 构建 cookie
-     * @param value
-     * @param path
-     * @return
-     */
-    private Cookie buildCookie(String value, String path) {
-        Cookie cookie = new Cookie("uv", value);
-        // 设置有效期为1个月，即间隔一个月访问的用户则认为是新用户
-        cookie.setMaxAge((int)TimeUnit.DAYS.toSeconds(30));
-        // 作用路径设置在当前短链接上，防止被其他短链访问到uv
-        cookie.setPath(path.substring(path.indexOf("/")));
-        return cookie;
-    }
-
-    /**
-     * 处理已经存在的 cookie，用于历史uv和今日uv的统计
-     * @param redisScript
-     * @param url
-     * @param value
-     * @param visitorIdForUV
-     * @param historyVisitorFirstFlag
-     * @param todayVisitorFirstFlag
-     */
-    private void handleExistingCookie(DefaultRedisScript<Long> redisScript,String url, String value, AtomicReference<String> visitorIdForUV, AtomicBoolean historyVisitorFirstFlag,AtomicBoolean todayVisitorFirstFlag) {
-        visitorIdForUV.set(value);
-        Long uvHistoryAdded=null;
-        Long uvTodayAdded=null;
-        try {
-            uvHistoryAdded = swiftUrlStringRedisTemplate.execute(redisScript,
-                    Lists.newArrayList("SwiftLink:monitorHistoryUV:" + url + value),
-                    value,
-                    String.valueOf(1));
-            uvTodayAdded = swiftUrlStringRedisTemplate.execute(redisScript,
-                    Lists.newArrayList("SwiftLink:monitorTodayUV:" + url + value),
-                    value,
-                    String.valueOf(2));
-        } catch (Throwable ex) {
-            log.error("设置为统计访问记录的uv的LUA脚本出错", ex);
-        }
-        historyVisitorFirstFlag.set(uvHistoryAdded!=null && uvHistoryAdded>0L);
-        todayVisitorFirstFlag.set(uvTodayAdded!=null && uvTodayAdded>0L);
-    }
-
-    /**
-     * 获取用户请求的IP
-     * @param request
-     * @return
-     */
-    private static String getClientIP(HttpServletRequest request) {
-        String clientIP = request.getHeader("X-Forwarded-For");
-        if (clientIP == null || clientIP.isEmpty() || "unknown".equalsIgnoreCase(clientIP)) {
-            clientIP = request.getHeader("Proxy-Client-IP");
-        }
-        if (clientIP == null || clientIP.isEmpty() || "unknown".equalsIgnoreCase(clientIP)) {
-            clientIP = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (clientIP == null || clientIP.isEmpty() || "unknown".equalsIgnoreCase(clientIP)) {
-            clientIP = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (clientIP == null || clientIP.isEmpty() || "unknown".equalsIgnoreCase(clientIP)) {
-            clientIP = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (clientIP == null || clientIP.isEmpty() || "unknown".equalsIgnoreCase(clientIP)) {
-            clientIP = request.getRemoteAddr();
-        }
-        return clientIP;
-    }
-
-    /**
-     * 获取用户请求的浏览器
-     * @param request
-     * @return
-     */
-    private static String getClientBrowser(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("edg")) {
-            return "Microsoft Edge";
-        } else if (userAgent.toLowerCase().contains("chrome")) {
-            return "Google Chrome";
-        } else if (userAgent.toLowerCase().contains("firefox")) {
-            return "Mozilla Firefox";
-        } else if (userAgent.toLowerCase().contains("safari")) {
-            return "Apple Safari";
-        } else if (userAgent.toLowerCase().contains("opera")) {
-            return "Opera";
-        } else if (userAgent.toLowerCase().contains("msie") || userAgent.toLowerCase().contains("trident")) {
-            return "Internet Explorer";
-        } else {
-            return "Unknown";
         }
+        ((HttpServletResponse) response).sendRedirect(gotoCacheValue.getOriginUrl());
     }
 
-    /**
-     * 获取用户请求的浏览器设备
-     * @param request
-     * @return
-     */
-    private static String getClientDevice(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("mobile")) {
-            return "Mobile";
-        }
-        return "PC";
-    }
-
-    /**
-     * 获取用户请求的网络信息
-     * @param request
-     * @return
-     */
-    private static String getClientNetwork(HttpServletRequest request) {
-        String actualIp = getClientIP(request);
-        // 通过简单判断IP地址范围，确定是 WIFI 还是 移动网络
-        return actualIp.startsWith("192.168.") || actualIp.startsWith("10.") ? "WIFI" : "Mobile";
-    }
-
-    // --------------------------------------------------------------------------------
-    
-    private ShortLinkStatsRecordDTO buildLinkStatsRecordAndSetUser(String fullShortUrl, ServletRequest request, ServletResponse response) {
-        AtomicBoolean uvFirstFlag = new AtomicBoolean();
+    private ShortLinkStatsRecordDTO buildLinkStatsRecordAndSetUser(String fullShortUrl, ShortLinkStatsLevelEnum statsLevel, int statsWeight, ServletRequest request, ServletResponse response) {
+        AtomicBoolean newVisitorFlag = new AtomicBoolean();
         Cookie[] cookies = ((HttpServletRequest) request).getCookies();
         AtomicReference<String> uv = new AtomicReference<>();
         Runnable addResponseCookieTask = () -> {
-            uv.set(UUID.fastUUID().toString());
+            uv.set(VisitorIdUtil.generate());
             Cookie uvCookie = new Cookie("uv", uv.get());
             uvCookie.setMaxAge(60 * 60 * 24 * 30);
             uvCookie.setPath(StrUtil.sub(fullShortUrl, fullShortUrl.indexOf("/"), fullShortUrl.length()));
             ((HttpServletResponse) response).addCookie(uvCookie);
-            uvFirstFlag.set(Boolean.TRUE);
-            stringRedisTemplate.opsForSet().add(SHORT_LINK_STATS_UV_KEY + fullShortUrl, uv.get());
+            newVisitorFlag.set(Boolean.TRUE);
         };
         if (ArrayUtil.isNotEmpty(cookies)) {
             Arrays.stream(cookies)
                     .filter(each -> Objects.equals(each.getName(), "uv"))
                     .findFirst()
-                    .map(Cookie::getValue)
-                    .ifPresentOrElse(each -> {
-                        uv.set(each);
-                        Long uvAdded = stringRedisTemplate.opsForSet().add(SHORT_LINK_STATS_UV_KEY + fullShortUrl, each);
-                        uvFirstFlag.set(uvAdded != null && uvAdded > 0L);
-                    }, addResponseCookieTask);
+                    .map(each -> VisitorIdUtil.normalize(each.getValue()))
+                    .ifPresentOrElse(uv::set, addResponseCookieTask);
         } else {
             addResponseCookieTask.run();
         }
         String remoteAddr = LinkUtil.getActualIp(((HttpServletRequest) request));
-        String os = LinkUtil.getOs(((HttpServletRequest) request));
-        String browser = LinkUtil.getBrowser(((HttpServletRequest) request));
-        String device = LinkUtil.getDevice(((HttpServletRequest) request));
-        String network = LinkUtil.getNetwork(((HttpServletRequest) request));
-        Long uipAdded = stringRedisTemplate.opsForSet().add(SHORT_LINK_STATS_UIP_KEY + fullShortUrl, remoteAddr);
-        boolean uipFirstFlag = uipAdded != null && uipAdded > 0L;
-//        if (uipFirstFlag){ // 添加成功，需要配合今日情况访问uip统计修改有效期
-//            stringRedisTemplate.expire(SHORT_LINK_STATS_UIP_KEY + fullShortUrl,
-//                    Duration.between(LocalDateTime.now(),
-//                            LocalDateTime.now().plusDays(1).
-//                                    withHour(0).withMinute(0).withSecond(0).
-//                                    withNano(0)).getSeconds(), TimeUnit.SECONDS);
-//        }
-        return ShortLinkStatsRecordDTO.builder()
+        ShortLinkStatsVisitorCounts visitorCounts = shortLinkStatsVisitorClassifier.classify(fullShortUrl, uv.get(), remoteAddr);
+        ShortLinkStatsRecordDTO.ShortLinkStatsRecordDTOBuilder builder = ShortLinkStatsRecordDTO.builder();
+        // 仅计数级别不解析 User-Agent 及网络类型
+        if (statsLevel.isDimensionEnabled()) {
+            UserAgentInfo userAgentInfo = LinkUtil.getUserAgentInfo(((HttpServletRequest) request));
+            builder.os(userAgentInfo.getOs())
+                    .browser(userAgentInfo.getBrowser())
+                    .device(userAgentInfo.getDevice())
+                    .network(LinkUtil.getNetwork(((HttpServletRequest) request)));
+        }
+        ShortLinkStatsRecordDTO statsRecord = builder
                 .fullShortUrl(fullShortUrl)
                 .uv(uv.get())
-                .uvFirstFlag(uvFirstFlag.get())
-                .uipFirstFlag(uipFirstFlag)
                 .remoteAddr(remoteAddr)
-                .os(os)
-                .browser(browser)
-                .device(device)
-                .network(network)
+                .statsLevel(statsLevel.getLevel())
                 .currentDate(new Date())
                 .build();
+        visitorCounts.applyTo(statsRecord, newVisitorFlag.get(), statsWeight);
+        return statsRecord;
     }
 
     @Override
     public void shortLinkStats(ShortLinkStatsRecordDTO statsRecord) {
-        Map<String, String> producerMap = new HashMap<>();
-        producerMap.put("statsRecord", JSON.toJSONString(statsRecord));
-        shortLinkStatsSaveProducer.send(producerMap);
+        shortLinkStatsSaveProducer.send(statsRecord);
     }
 
     private String generateSuffix(ShortLinkCreateReqDTO requestParam) {
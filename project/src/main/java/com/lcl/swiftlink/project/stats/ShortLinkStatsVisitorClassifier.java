@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.stats;
+
+import cn.hutool.core.date.DateUnit;
+import cn.hutool.core.date.DateUtil;
+import com.lcl.swiftlink.common.config.StatsHyperLogLogConfiguration;
+import com.lcl.swiftlink.common.stats.ShortLinkStatsVisitorCounts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TODAY_UIP_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_TODAY_UV_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_HLL_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UIP_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_HLL_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_UV_KEY;
+
+/**
+ * 短链接统计访客分类器
+ * 通过一段预加载的 Lua 脚本一次往返得出历史及今日的访客数、IP 数增量
+ * HyperLogLog 模式下每个短链接占用固定内存，增量取写入前后基数估算值之差，累计访客数与基数估算值一致，标准误差约 0.81%
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkStatsVisitorClassifier implements InitializingBean {
+
+    private static final String VISIT_DATA_SET_LUA_SCRIPT_PATH = "lua/visit_data_set.lua";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StatsHyperLogLogConfiguration statsHyperLogLogConfiguration;
+
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> visitDataSetScript;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        // 脚本只构建一次，执行时优先使用 EVALSHA，Redis 中脚本不存在时自动回退 EVAL
+        visitDataSetScript = new DefaultRedisScript<>();
+        visitDataSetScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(VISIT_DATA_SET_LUA_SCRIPT_PATH)));
+        visitDataSetScript.setResultType(List.class);
+    }
+
+    /**
+     * 记录访客并计算访客数、IP 数增量
+     *
+     * @param fullShortUrl 完整短链接
+     * @param uv           访客 Cookie 标识
+     * @param remoteAddr   访客 IP
+     * @return 历史及今日访客数、IP 数增量
+     */
+    @SuppressWarnings("unchecked")
+    public ShortLinkStatsVisitorCounts classify(String fullShortUrl, String uv, String remoteAddr) {
+        boolean hyperLogLog = isHyperLogLog();
+        Date now = new Date();
+        String today = DateUtil.format(now, "yyyyMMdd");
+        List<String> keys = List.of(
+                (hyperLogLog ? SHORT_LINK_STATS_UV_HLL_KEY : SHORT_LINK_STATS_UV_KEY) + fullShortUrl,
+                String.format(SHORT_LINK_STATS_TODAY_UV_KEY, today, fullShortUrl),
+                (hyperLogLog ? SHORT_LINK_STATS_UIP_HLL_KEY : SHORT_LINK_STATS_UIP_KEY) + fullShortUrl,
+                String.format(SHORT_LINK_STATS_TODAY_UIP_KEY, today, fullShortUrl)
+        );
+        long todayExpireSeconds = DateUtil.between(now, DateUtil.endOfDay(now), DateUnit.SECOND) + 1;
+        List<Long> result = stringRedisTemplate.execute(
+                visitDataSetScript,
+                keys,
+                uv,
+                remoteAddr,
+                hyperLogLog ? "1" : "0",
+                String.valueOf(todayExpireSeconds)
+        );
+        if (result == null || result.size() < 4) {
+            return new ShortLinkStatsVisitorCounts(0, 0, 0, 0);
+        }
+        return new ShortLinkStatsVisitorCounts(
+                result.get(0).intValue(),
+                result.get(1).intValue(),
+                result.get(2).intValue(),
+                result.get(3).intValue()
+        );
+    }
+
+    public boolean isHyperLogLog() {
+        return Objects.equals(statsHyperLogLogConfiguration.getEnable(), Boolean.TRUE);
+    }
+}
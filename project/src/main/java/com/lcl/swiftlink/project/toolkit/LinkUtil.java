@@ -20,6 +20,9 @@ package com.lcl.swiftlink.project.toolkit;
 import cn.hutool.core.date.DateUnit;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.StrUtil;
+import com.lcl.swiftlink.common.toolkit.NetworkUtil;
+import com.lcl.swiftlink.common.toolkit.UserAgentClassifier;
+import com.lcl.swiftlink.common.toolkit.UserAgentInfo;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.net.URI;
@@ -72,65 +75,13 @@ public class LinkUtil {
     }
 
     /**
-     * 获取用户访问操作系统
+     * 解析用户访问 User-Agent，一次得出操作系统、浏览器与设备
      *
      * @param request 请求
-     * @return 访问操作系统
+     * @return 操作系统、浏览器与设备
      */
-    public static String getOs(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("windows")) {
-            return "Windows";
-        } else if (userAgent.toLowerCase().contains("mac")) {
-            return "Mac OS";
-        } else if (userAgent.toLowerCase().contains("linux")) {
-            return "Linux";
-        } else if (userAgent.toLowerCase().contains("android")) {
-            return "Android";
-        } else if (userAgent.toLowerCase().contains("iphone") || userAgent.toLowerCase().contains("ipad")) {
-            return "iOS";
-        } else {
-            return "Unknown";
-        }
-    }
-
-    /**
-     * 获取用户访问浏览器
-     *
-     * @param request 请求
-     * @return 访问浏览器
-     */
-    public static String getBrowser(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("edg")) {
-            return "Microsoft Edge";
-        } else if (userAgent.toLowerCase().contains("chrome")) {
-            return "Google Chrome";
-        } else if (userAgent.toLowerCase().contains("firefox")) {
-            return "Mozilla Firefox";
-        } else if (userAgent.toLowerCase().contains("safari")) {
-            return "Apple Safari";
-        } else if (userAgent.toLowerCase().contains("opera")) {
-            return "Opera";
-        } else if (userAgent.toLowerCase().contains("msie") || userAgent.toLowerCase().contains("trident")) {
-            return "Internet Explorer";
-        } else {
-            return "Unknown";
-        }
-    }
-
-    /**
-     * 获取用户访问设备
-     *
-     * @param request 请求
-     * @return 访问设备
-     */
-    public static String getDevice(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent.toLowerCase().contains("mobile")) {
-            return "Mobile";
-        }
-        return "PC";
+    public static UserAgentInfo getUserAgentInfo(HttpServletRequest request) {
+        return UserAgentClassifier.classify(request.getHeader("User-Agent"));
     }
 
     /**
@@ -140,10 +91,7 @@ public class LinkUtil {
      * @return 访问设备
      */
     public static String getNetwork(HttpServletRequest request) {
-        String actualIp = getActualIp(request);
-        // 这里简单判断IP地址范围，您可能需要更复杂的逻辑
-        // 例如，通过调用IP地址库或调用第三方服务来判断网络类型
-        return actualIp.startsWith("192.168.") || actualIp.startsWith("10.") ? "WIFI" : "Mobile";
+        return NetworkUtil.getNetwork(getActualIp(request));
     }
 
     /**
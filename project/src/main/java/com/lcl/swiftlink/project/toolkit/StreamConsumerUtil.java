@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.toolkit;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 消息队列消费者工具类
+ */
+public final class StreamConsumerUtil {
+
+    /**
+     * 当前实例标识，格式为 进程号@主机名，重启后产生的新名称由 {@link com.lcl.swiftlink.project.mq.consumer.ShortLinkStatsStreamConsumerCleaner} 清理旧名称
+     */
+    private static final String INSTANCE_ID = ManagementFactory.getRuntimeMXBean().getName();
+
+    private StreamConsumerUtil() {
+    }
+
+    /**
+     * 生成当前实例内唯一且跨实例不重复的消费者名称
+     *
+     * @param prefix 消费者名称前缀
+     * @param index  实例内消费线程序号
+     * @return 消费者名称
+     */
+    public static String consumerName(String prefix, int index) {
+        return prefix + "-" + INSTANCE_ID + "-" + index;
+    }
+}
@@ -0,0 +1,7 @@
+-- 短链接统计消息待处理列表认领
+-- KEYS[1] 统计消息 Stream Key
+-- ARGV[1] 消费者组，ARGV[2] 认领的消费者，ARGV[3] 最小空闲时间（毫秒），ARGV[4] 扫描起始 ID，ARGV[5] 单次最多认领数量
+-- 使用 JUSTID 只转移所有权、不增加投递次数，认领的消息由消费者从自己的待处理列表重新读取
+-- 返回 {下一次扫描起始 ID, 认领数量}
+local result = redis.call('XAUTOCLAIM', KEYS[1], ARGV[1], ARGV[2], ARGV[3], ARGV[4], 'COUNT', ARGV[5], 'JUSTID')
+return {result[1], #result[2]}
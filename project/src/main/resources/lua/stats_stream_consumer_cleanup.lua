@@ -0,0 +1,24 @@
+-- 短链接统计消费者组清理
+-- KEYS[1] 统计消息 Stream Key
+-- ARGV[1] 消费者组，ARGV[2] 当前消费者（不清理），ARGV[3] 最小空闲时间（毫秒）
+-- 消费者名称包含进程号，实例重启后旧名称不再使用，删除空闲超时且没有待处理消息的消费者，避免消费者组无限增长
+-- 返回删除的消费者数量
+local deleted = 0
+local consumers = redis.call('XINFO', 'CONSUMERS', KEYS[1], ARGV[1])
+for _, consumer in ipairs(consumers) do
+    local name, pending, idle
+    for i = 1, #consumer, 2 do
+        if consumer[i] == 'name' then
+            name = consumer[i + 1]
+        elseif consumer[i] == 'pending' then
+            pending = consumer[i + 1]
+        elseif consumer[i] == 'idle' then
+            idle = consumer[i + 1]
+        end
+    end
+    if name ~= ARGV[2] and pending == 0 and idle >= tonumber(ARGV[3]) then
+        redis.call('XGROUP', 'DELCONSUMER', KEYS[1], ARGV[1], name)
+        deleted = deleted + 1
+    end
+end
+return deleted
@@ -0,0 +1,51 @@
+-- 短链接跳转表冗余跳转字段
+-- 每张 t_link_goto_N 分表新增原始链接、有效期、启用状态、删除标识，执行完 DDL 后调用回填存储过程补齐历史数据
+-- 跳转表按 full_short_url 分片、短链接表按 gid 分片，同一条记录所在分表无法直接计算，回填时逐对分表关联更新
+-- 回填可重复执行，只更新冗余字段仍为空的记录
+
+DROP PROCEDURE IF EXISTS alter_link_goto_redirect_columns;
+DELIMITER $$
+CREATE PROCEDURE alter_link_goto_redirect_columns()
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    WHILE i < 16 DO
+        SET @ddl = CONCAT('ALTER TABLE t_link_goto_', i,
+                          ' ADD COLUMN origin_url varchar(2048) NULL,',
+                          ' ADD COLUMN valid_date datetime NULL,',
+                          ' ADD COLUMN enable_status tinyint(1) NULL,',
+                          ' ADD COLUMN del_flag tinyint(1) NULL');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+        SET i = i + 1;
+    END WHILE;
+END $$
+
+DROP PROCEDURE IF EXISTS backfill_link_goto_redirect_columns $$
+CREATE PROCEDURE backfill_link_goto_redirect_columns()
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE j INT;
+    WHILE i < 16 DO
+        SET j = 0;
+        WHILE j < 16 DO
+            SET @dml = CONCAT('UPDATE t_link_goto_', i, ' g JOIN t_link_', j, ' l',
+                              ' ON l.gid = g.gid AND l.full_short_url = g.full_short_url',
+                              ' SET g.origin_url = l.origin_url, g.valid_date = l.valid_date,',
+                              ' g.enable_status = l.enable_status, g.del_flag = l.del_flag',
+                              ' WHERE g.origin_url IS NULL OR g.enable_status IS NULL OR g.del_flag IS NULL');
+            PREPARE stmt FROM @dml;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+            SET j = j + 1;
+        END WHILE;
+        SET i = i + 1;
+    END WHILE;
+END $$
+DELIMITER ;
+
+CALL alter_link_goto_redirect_columns();
+CALL backfill_link_goto_redirect_columns();
+
+DROP PROCEDURE alter_link_goto_redirect_columns;
+DROP PROCEDURE backfill_link_goto_redirect_columns;
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.project.mq.consumer;
+
+import com.lcl.swiftlink.common.config.StatsIpRegionConfiguration;
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.enums.ShortLinkStatsLevelEnum;
+import com.lcl.swiftlink.common.stats.ShortLinkIpRegionSearcher;
+import com.lcl.swiftlink.project.dao.entity.LinkAccessStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkOsStatsDO;
+import com.lcl.swiftlink.project.dao.entity.LinkStatsTodayDO;
+import com.lcl.swiftlink.project.dao.entity.ShortLinkDO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 短链接统计批量写入缓冲单元测试，覆盖按唯一键合并计数、预聚合消息累加、统计级别过滤及按唯一键排序输出
+ */
+class ShortLinkStatsBatchTest {
+
+    private static final String GID = "g1";
+
+    private static final String FULL_SHORT_URL = "nurl.ink/1a2b3c";
+
+    private static final Date CURRENT_DATE = new Date(1700000000000L);
+
+    private ShortLinkStatsBatch statsBatch;
+
+    @BeforeEach
+    void setUp() {
+        // 地址库未加载时地区统一记为未知，不依赖外部文件
+        statsBatch = new ShortLinkStatsBatch(new ShortLinkIpRegionSearcher(new StatsIpRegionConfiguration()));
+    }
+
+    @Test
+    void mergeSingleVisitsIntoTotals() {
+        statsBatch.add(visit("Windows", true, true), GID);
+        statsBatch.add(visit("Windows", false, false), GID);
+        statsBatch.add(visit("Android", true, false), GID);
+
+        ShortLinkDO linkTotal = single(statsBatch.getLinkTotals());
+        assertEquals(3, linkTotal.getTotalPv());
+        assertEquals(2, linkTotal.getTotalUv());
+        assertEquals(1, linkTotal.getTotalUip());
+        LinkStatsTodayDO todayStats = single(statsBatch.getTodayStats());
+        assertEquals(3, todayStats.getTodayPv());
+        assertEquals(2, todayStats.getTodayUv());
+        assertEquals(1, todayStats.getTodayUip());
+        LinkAccessStatsDO accessStats = single(statsBatch.getAccessStats());
+        assertEquals(3, accessStats.getPv());
+        assertEquals(2, accessStats.getUv());
+        assertEquals(1, accessStats.getUip());
+        List<LinkOsStatsDO> osStats = statsBatch.getOsStats();
+        assertEquals(2, osStats.size());
+        assertEquals(3, osStats.stream().mapToInt(LinkOsStatsDO::getCnt).sum());
+        assertEquals(3, single(statsBatch.getLocaleStats()).getCnt());
+        assertEquals(3, statsBatch.getAccessLogs().size());
+    }
+
+    @Test
+    void mergePreAggregatedCounts() {
+        ShortLinkStatsRecordDTO aggregated = visit("Windows", null, null);
+        aggregated.setPv(5);
+        aggregated.setUvCnt(2);
+        aggregated.setUipCnt(1);
+        aggregated.setTodayUvCnt(1);
+        aggregated.setTodayUipCnt(1);
+        aggregated.setAccessLogFlag(Boolean.FALSE);
+        statsBatch.add(aggregated, GID);
+        statsBatch.add(visit("Windows", true, true), GID);
+
+        ShortLinkDO linkTotal = single(statsBatch.getLinkTotals());
+        assertEquals(6, linkTotal.getTotalPv());
+        assertEquals(3, linkTotal.getTotalUv());
+        assertEquals(2, linkTotal.getTotalUip());
+        LinkStatsTodayDO todayStats = single(statsBatch.getTodayStats());
+        assertEquals(6, todayStats.getTodayPv());
+        assertEquals(2, todayStats.getTodayUv());
+        assertEquals(2, todayStats.getTodayUip());
+        assertEquals(6, single(statsBatch.getOsStats()).getCnt());
+        assertEquals(1, statsBatch.getAccessLogs().size());
+    }
+
+    @Test
+    void counterLevelSkipsDimensionsAndAccessLogs() {
+        ShortLinkStatsRecordDTO statsRecord = visit("Windows", true, true);
+        statsRecord.setStatsLevel(ShortLinkStatsLevelEnum.COUNTER.getLevel());
+        statsBatch.add(statsRecord, GID);
+
+        assertEquals(1, single(statsBatch.getLinkTotals()).getTotalPv());
+        assertEquals(1, single(statsBatch.getTodayStats()).getTodayPv());
+        assertTrue(statsBatch.getAccessStats().isEmpty());
+        assertTrue(statsBatch.getOsStats().isEmpty());
+        assertTrue(statsBatch.getLocaleStats().isEmpty());
+        assertTrue(statsBatch.getAccessLogs().isEmpty());
+    }
+
+    @Test
+    void accessLogOnlyMessageDoesNotCount() {
+        ShortLinkStatsRecordDTO statsRecord = visit("Windows", true, true);
+        statsRecord.setPv(0);
+        statsBatch.add(statsRecord, GID);
+
+        assertTrue(statsBatch.getLinkTotals().isEmpty());
+        assertTrue(statsBatch.getTodayStats().isEmpty());
+        assertTrue(statsBatch.getOsStats().isEmpty());
+        assertEquals(1, statsBatch.getAccessLogs().size());
+        assertEquals(1, statsBatch.size());
+    }
+
+    @Test
+    void rowsAreOrderedByUniqueKey() {
+        statsBatch.add(visit("nurl.ink/c", "Windows"), "g2");
+        statsBatch.add(visit("nurl.ink/b", "Windows"), "g1");
+        statsBatch.add(visit("nurl.ink/a", "Windows"), "g2");
+        statsBatch.add(visit("nurl.ink/a", "Windows"), "g1");
+
+        List<String> linkKeys = new ArrayList<>();
+        statsBatch.getLinkTotals().forEach(each -> linkKeys.add(each.getGid() + "/" + each.getFullShortUrl()));
+        assertEquals(List.of("g1/nurl.ink/a", "g1/nurl.ink/b", "g2/nurl.ink/a", "g2/nurl.ink/c"), linkKeys);
+        assertEquals(List.of("nurl.ink/a", "nurl.ink/b", "nurl.ink/c"),
+                statsBatch.getTodayStats().stream().map(LinkStatsTodayDO::getFullShortUrl).toList());
+    }
+
+    private ShortLinkStatsRecordDTO visit(String os, Boolean uvFirstFlag, Boolean uipFirstFlag) {
+        ShortLinkStatsRecordDTO statsRecord = visit(FULL_SHORT_URL, os);
+        statsRecord.setUvFirstFlag(uvFirstFlag);
+        statsRecord.setUipFirstFlag(uipFirstFlag);
+        return statsRecord;
+    }
+
+    private ShortLinkStatsRecordDTO visit(String fullShortUrl, String os) {
+        return ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl(fullShortUrl)
+                .remoteAddr("10.0.0.1")
+                .os(os)
+                .browser("Google Chrome")
+                .device("PC")
+                .network("WIFI")
+                .uv("visitor")
+                .uvFirstFlag(Boolean.TRUE)
+                .uipFirstFlag(Boolean.TRUE)
+                .statsLevel(ShortLinkStatsLevelEnum.FULL.getLevel())
+                .currentDate(CURRENT_DATE)
+                .build();
+    }
+
+    private static <T> T single(Iterable<T> rows) {
+        List<T> result = new ArrayList<>();
+        rows.forEach(result::add);
+        assertEquals(1, result.size());
+        return result.get(0);
+    }
+}
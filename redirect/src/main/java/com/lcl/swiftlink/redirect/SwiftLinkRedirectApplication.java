@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.redirect;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+
+/**
+ * 短链接跳转服务应用启动器
+ * 基于 WebFlux 的非阻塞跳转入口，仅承载短链接跳转热点路径
+ */
+@SpringBootApplication(scanBasePackages = {"com.lcl.swiftlink.redirect", "com.lcl.swiftlink.common"})
+@EnableDiscoveryClient
+public class SwiftLinkRedirectApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(SwiftLinkRedirectApplication.class, args);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.redirect.cache;
+
+import com.lcl.swiftlink.common.enums.GotoCacheLookupStatusEnum;
+import com.lcl.swiftlink.common.enums.ShortLinkStatsLevelEnum;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 短链接跳转缓存查询结果
+ */
+@Getter
+@AllArgsConstructor
+public class ShortLinkGotoLookupResult {
+
+    /**
+     * 查询结果状态
+     */
+    private final GotoCacheLookupStatusEnum status;
+
+    /**
+     * 原始链接，仅命中时有值
+     */
+    private final String originUrl;
+
+    /**
+     * 统计级别，仅命中时有值
+     */
+    private final ShortLinkStatsLevelEnum statsLevel;
+}
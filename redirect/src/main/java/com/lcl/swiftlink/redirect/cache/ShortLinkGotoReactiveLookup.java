@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.redirect.cache;
+
+import com.lcl.swiftlink.common.cache.ShortLinkGotoCacheValue;
+import com.lcl.swiftlink.common.enums.GotoCacheLookupStatusEnum;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_BLOOM_FILTER_NAME;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
+import static com.lcl.swiftlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_SOFT_EXPIRE_KEY;
+
+/**
+ * 短链接跳转缓存非阻塞查询
+ * 与短链接服务使用同一段 Lua 脚本，一次往返完成跳转缓存与空值缓存的判断
+ * 缓存未命中时才通过 Redisson 布隆过滤器确认是否需要回源，布隆过滤器尚未初始化时直接回源短链接服务
+ */
+@Component
+@RequiredArgsConstructor
+public class ShortLinkGotoReactiveLookup implements InitializingBean {
+
+    private static final String GOTO_CACHE_LOOKUP_LUA_SCRIPT_PATH = "lua/goto_cache_lookup.lua";
+
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private final RedissonClient redissonClient;
+
+    @SuppressWarnings("rawtypes")
+    private DefaultRedisScript<List> gotoCacheLookupScript;
+
+    private RBloomFilter<String> bloomFilter;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        gotoCacheLookupScript = new DefaultRedisScript<>();
+        gotoCacheLookupScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(GOTO_CACHE_LOOKUP_LUA_SCRIPT_PATH)));
+        gotoCacheLookupScript.setResultType(List.class);
+        bloomFilter = redissonClient.getBloomFilter(GOTO_SHORT_LINK_BLOOM_FILTER_NAME);
+    }
+
+    /**
+     * 查询短链接跳转缓存
+     *
+     * @param fullShortUrl 完整短链接
+     * @return 查询结果状态与命中时的原始链接
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<ShortLinkGotoLookupResult> lookup(String fullShortUrl) {
+        List<String> keys = List.of(
+                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
+                String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl),
+                String.format(GOTO_SHORT_LINK_SOFT_EXPIRE_KEY, fullShortUrl)
+        );
+        return reactiveStringRedisTemplate.execute(gotoCacheLookupScript, keys).next()
+                .flatMap(each -> {
+                    List<Object> result = (List<Object>) each;
+                    GotoCacheLookupStatusEnum status = GotoCacheLookupStatusEnum.of((Long) result.get(0));
+                    if (status == GotoCacheLookupStatusEnum.REBUILD) {
+                        return checkBloomFilter(fullShortUrl);
+                    }
+                    if (status != GotoCacheLookupStatusEnum.HIT) {
+                        return Mono.just(new ShortLinkGotoLookupResult(status, null, null));
+                    }
+                    ShortLinkGotoCacheValue cacheValue = ShortLinkGotoCacheValue.decode((String) result.get(1));
+                    return Mono.just(new ShortLinkGotoLookupResult(status, cacheValue.getOriginUrl(), cacheValue.getStatsLevel()));
+                })
+                .defaultIfEmpty(new ShortLinkGotoLookupResult(GotoCacheLookupStatusEnum.REBUILD, null, null));
+    }
+
+    /**
+     * 缓存未命中时判断布隆过滤器，Redisson 布隆过滤器只提供同步接口，在弹性线程池中执行
+     * 布隆过滤器尚未初始化或查询失败时返回需要回源，由短链接服务判断
+     */
+    private Mono<ShortLinkGotoLookupResult> checkBloomFilter(String fullShortUrl) {
+        return Mono.fromCallable(() -> bloomFilter.contains(fullShortUrl))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(contains -> new ShortLinkGotoLookupResult(
+                        contains ? GotoCacheLookupStatusEnum.REBUILD : GotoCacheLookupStatusEnum.NOT_FOUND, null, null))
+                .onErrorReturn(new ShortLinkGotoLookupResult(GotoCacheLookupStatusEnum.REBUILD, null, null));
+    }
+}
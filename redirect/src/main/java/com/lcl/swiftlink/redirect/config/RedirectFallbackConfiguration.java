@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.redirect.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 跳转缓存未命中时回源短链接服务配置文件
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.redirect.fallback")
+public class RedirectFallbackConfiguration {
+
+    /**
+     * 短链接服务地址，缓存未命中时由短链接服务回源数据库并重建缓存
+     */
+    private String url;
+
+    /**
+     * 回源请求超时时间，单位：毫秒
+     */
+    private Long timeout;
+}
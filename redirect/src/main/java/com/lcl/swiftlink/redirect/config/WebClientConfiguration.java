@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.redirect.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * 回源短链接服务 WebClient 配置
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebClientConfiguration {
+
+    private final RedirectFallbackConfiguration redirectFallbackConfiguration;
+
+    @Bean
+    public WebClient redirectFallbackWebClient(WebClient.Builder webClientBuilder) {
+        // 回源请求不跟随重定向，由跳转服务把短链接服务的响应原样返回给用户
+        return webClientBuilder
+                .baseUrl(redirectFallbackConfiguration.getUrl())
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.redirect.service.impl;
+
+import com.lcl.swiftlink.common.dto.biz.ShortLinkStatsRecordDTO;
+import com.lcl.swiftlink.common.enums.ShortLinkStatsLevelEnum;
+import com.lcl.swiftlink.common.mq.producer.ShortLinkStatsSaveProducer;
+import com.lcl.swiftlink.common.stats.ShortLinkStatsSampler;
+import com.lcl.swiftlink.common.toolkit.UserAgentInfo;
+import com.lcl.swiftlink.common.toolkit.VisitorIdUtil;
+import com.lcl.swiftlink.redirect.cache.ShortLinkGotoReactiveLookup;
+import com.lcl.swiftlink.redirect.config.RedirectFallbackConfiguration;
+import com.lcl.swiftlink.redirect.service.ShortLinkRedirectService;
+import com.lcl.swiftlink.redirect.stats.ShortLinkStatsVisitorReactiveClassifier;
+import com.lcl.swiftlink.redirect.toolkit.LinkUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+
+/**
+ * 短链接跳转接口实现层
+ * 缓存命中时在事件循环线程内完成跳转，统计消息异步发送，缓存未命中时回源短链接服务
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShortLinkRedirectServiceImpl implements ShortLinkRedirectService {
+
+    private static final String NOT_FOUND_PAGE = "/page/notfound";
+
+    private final ShortLinkGotoReactiveLookup shortLinkGotoReactiveLookup;
+    private final ShortLinkStatsSaveProducer shortLinkStatsSaveProducer;
+    private final ShortLinkStatsSampler shortLinkStatsSampler;
+    private final ShortLinkStatsVisitorReactiveClassifier shortLinkStatsVisitorReactiveClassifier;
+    private final RedirectFallbackConfiguration redirectFallbackConfiguration;
+    private final WebClient redirectFallbackWebClient;
+
+    @Override
+    public Mono<Void> restoreUrl(String shortUri, ServerWebExchange exchange) {
+        String fullShortUrl = buildFullShortUrl(shortUri, exchange.getRequest());
+        return shortLinkGotoReactiveLookup.lookup(fullShortUrl).flatMap(lookupResult -> switch (lookupResult.getStatus()) {
+            case HIT -> {
+                if (lookupResult.getStatsLevel() != ShortLinkStatsLevelEnum.OFF) {
+                    int statsWeight = shortLinkStatsSampler.sample(fullShortUrl);
+                    if (statsWeight > 0) {
+                        shortLinkStats(fullShortUrl, lookupResult.getStatsLevel(), statsWeight, exchange);
+                    }
+                }
+                yield redirect(exchange.getResponse(), lookupResult.getOriginUrl());
+            }
+            case NOT_FOUND -> redirect(exchange.getResponse(), NOT_FOUND_PAGE);
+            case REBUILD -> fallback(shortUri, exchange);
+        });
+    }
+
+    private Mono<Void> redirect(ServerHttpResponse response, String location) {
+        response.setStatusCode(HttpStatus.FOUND);
+        response.getHeaders().setLocation(URI.create(location));
+        return response.setComplete();
+    }
+
+    /**
+     * 缓存未命中时回源短链接服务，由其查询数据库、重建缓存并记录统计，响应原样返回给用户
+     */
+    private Mono<Void> fallback(String shortUri, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        return redirectFallbackWebClient.get()
+                .uri("/{shortUri}", shortUri)
+                .headers(headers -> {
+                    copyHeader(request.getHeaders(), headers, HttpHeaders.HOST);
+                    copyHeader(request.getHeaders(), headers, HttpHeaders.USER_AGENT);
+                    copyHeader(request.getHeaders(), headers, HttpHeaders.COOKIE);
+                    headers.set("X-Forwarded-For", LinkUtil.getActualIp(request));
+                })
+                .exchangeToMono(fallbackResponse -> {
+                    response.setStatusCode(fallbackResponse.statusCode());
+                    HttpHeaders fallbackHeaders = fallbackResponse.headers().asHttpHeaders();
+                    copyHeader(fallbackHeaders, response.getHeaders(), HttpHeaders.LOCATION);
+                    copyHeader(fallbackHeaders, response.getHeaders(), HttpHeaders.SET_COOKIE);
+                    return fallbackResponse.releaseBody();
+                })
+                .timeout(Duration.ofMillis(redirectFallbackConfiguration.getTimeout()))
+                .then(Mono.defer(response::setComplete));
+    }
+
+    private void copyHeader(HttpHeaders source, HttpHeaders target, String headerName) {
+        Optional.ofNullable(source.get(headerName)).ifPresent(each -> target.put(headerName, each));
+    }
+
+    /**
+     * 写入 uv Cookie 并异步判断新访客、发送统计消息，跳转响应不等待统计完成
+     * 统计消息与短链接服务共用同一生产者，采样加权、预聚合及紧凑编码行为保持一致
+     */
+    private void shortLinkStats(String fullShortUrl, ShortLinkStatsLevelEnum statsLevel, int statsWeight, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpCookie uvCookie = request.getCookies().getFirst("uv");
+        String existingUv = uvCookie == null ? null : VisitorIdUtil.normalize(uvCookie.getValue());
+        boolean newVisitor = existingUv == null;
+        String uv = newVisitor ? VisitorIdUtil.generate() : existingUv;
+        if (newVisitor) {
+            exchange.getResponse().addCookie(ResponseCookie.from("uv", uv)
+                    .maxAge(Duration.ofDays(30))
+                    .path(fullShortUrl.substring(fullShortUrl.indexOf("/")))
+                    .build());
+        }
+        String remoteAddr = LinkUtil.getActualIp(request);
+        ShortLinkStatsRecordDTO statsRecord = ShortLinkStatsRecordDTO.builder()
+                .fullShortUrl(fullShortUrl)
+                .uv(uv)
+                .remoteAddr(remoteAddr)
+                .statsLevel(statsLevel.getLevel())
+                .currentDate(new Date())
+                .build();
+        // 仅计数级别不解析 User-Agent 及网络类型
+        if (statsLevel.isDimensionEnabled()) {
+            UserAgentInfo userAgentInfo = LinkUtil.getUserAgentInfo(request);
+            statsRecord.setOs(userAgentInfo.getOs());
+            statsRecord.setBrowser(userAgentInfo.getBrowser());
+            statsRecord.setDevice(userAgentInfo.getDevice());
+            statsRecord.setNetwork(LinkUtil.getNetwork(remoteAddr));
+        }
+        shortLinkStatsVisitorReactiveClassifier.classify(fullShortUrl, uv, remoteAddr)
+                .doOnNext(visitorCounts -> visitorCounts.applyTo(statsRecord, newVisitor, statsWeight))
+                // 未开启异步发送时生产者同步写入消息队列，切换到弹性线程池避免阻塞事件循环
+                .publishOn(shortLinkStatsSaveProducer.isAsync() ? Schedulers.immediate() : Schedulers.boundedElastic())
+                .doOnNext(visitorCounts -> shortLinkStatsSaveProducer.send(statsRecord))
+                .subscribe(null, ex -> log.error("短链接跳转统计消息发送失败，短链接：{}", fullShortUrl, ex));
+    }
+
+    private String buildFullShortUrl(String shortUri, ServerHttpRequest request) {
+        URI uri = request.getURI();
+        String serverPort = uri.getPort() == -1 || uri.getPort() == 80 ? "" : ":" + uri.getPort();
+        return uri.getHost() + serverPort + "/" + shortUri;
+    }
+}
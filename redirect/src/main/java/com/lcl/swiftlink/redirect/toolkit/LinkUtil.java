@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.lcl.swiftlink.redirect.toolkit;
+
+import com.lcl.swiftlink.common.toolkit.NetworkUtil;
+import com.lcl.swiftlink.common.toolkit.UserAgentClassifier;
+import com.lcl.swiftlink.common.toolkit.UserAgentInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * 短链接跳转工具类，判断规则与短链接服务保持一致
+ */
+public class LinkUtil {
+
+    /**
+     * 获取用户真实IP
+     *
+     * @param request 请求
+     * @return 用户真实IP
+     */
+    public static String getActualIp(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        for (String headerName : new String[]{"X-Forwarded-For", "Proxy-Client-IP", "WL-Proxy-Client-IP", "HTTP_CLIENT_IP", "HTTP_X_FORWARDED_FOR"}) {
+            String ipAddress = headers.getFirst(headerName);
+            if (ipAddress != null && !ipAddress.isEmpty() && !"unknown".equalsIgnoreCase(ipAddress)) {
+                return ipAddress;
+            }
+        }
+        return Optional.ofNullable(request.getRemoteAddress())
+                .map(InetSocketAddress::getAddress)
+                .map(each -> each.getHostAddress())
+                .orElse("unknown");
+    }
+
+    /**
+     * 获取用户访问网络
+     *
+     * @param actualIp 用户真实IP
+     * @return 访问网络
+     */
+    public static String getNetwork(String actualIp) {
+        return NetworkUtil.getNetwork(actualIp);
+    }
+
+    /**
+     * 解析用户访问 User-Agent，一次得出操作系统、浏览器与设备，请求头缺失时返回未知
+     *
+     * @param request 请求
+     * @return 操作系统、浏览器与设备
+     */
+    public static UserAgentInfo getUserAgentInfo(ServerHttpRequest request) {
+        return UserAgentClassifier.classify(request.getHeaders().getFirst(HttpHeaders.USER_AGENT));
+    }
+}